@@ -0,0 +1,38 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    static final int COMPANY_COUNT = 100;
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(int id) {
+        return new Employee(id, "Employee" + id, 20 + id % 40, id % 2 == 0 ? "female" : "male",
+                1000 + id % 5000, 1 + id % COMPANY_COUNT);
+    }
+
+    static List<Employee> employees(int employeeCount) {
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int id = 1; id <= employeeCount; id++) {
+            employees.add(employee(id));
+        }
+        return employees;
+    }
+
+    static List<Company> companies(List<Employee> employees) {
+        List<Company> companies = new ArrayList<>(COMPANY_COUNT);
+        for (int id = 1; id <= COMPANY_COUNT; id++) {
+            companies.add(new Company(id, "Company" + id, new ArrayList<>()));
+        }
+        for (Employee employee : employees) {
+            companies.get(employee.getCompanyId() - 1).getEmployees().add(employee);
+        }
+        return companies;
+    }
+}
@@ -0,0 +1,51 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.repository.EmployeeNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeNameIndexBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private EmployeeNameIndex employeeNameIndex;
+
+    private String existingName;
+
+    @Setup
+    public void setup() {
+        employeeNameIndex = new EmployeeNameIndex();
+        for (int id = 1; id <= employeeCount; id++) {
+            employeeNameIndex.index(id, BenchmarkData.employee(id).getName());
+        }
+        existingName = BenchmarkData.employee(employeeCount / 2).getName().toLowerCase();
+    }
+
+    @Benchmark
+    public List<Integer> exactMatch() {
+        return employeeNameIndex.search(existingName, 0, 20);
+    }
+
+    @Benchmark
+    public List<Integer> prefixMatch() {
+        return employeeNameIndex.search(existingName.substring(0, existingName.length() - 1), 0, 20);
+    }
+
+    @Benchmark
+    public List<Integer> typoMatch() {
+        return employeeNameIndex.search("emplyee" + existingName.substring("employee".length()), 0, 20);
+    }
+}
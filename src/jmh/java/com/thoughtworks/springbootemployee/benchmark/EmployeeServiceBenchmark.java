@@ -0,0 +1,96 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeServiceBenchmark {
+    private static final int SEED_BATCH_SIZE = 10000;
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "app.cache.entities.employees.enabled=false",
+                        "app.cache.entities.companies.enabled=false")
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        for (int id = 1; id <= BenchmarkData.COMPANY_COUNT; id++) {
+            jdbcTemplate.update("INSERT INTO company(id, company_name) VALUES (?, ?)", id, "Company" + id);
+        }
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int id = 1; id <= employeeCount; id++) {
+            Employee employee = BenchmarkData.employee(id);
+            rows.add(new Object[]{employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                    employee.getSalary(), employee.getCompanyId()});
+            if (rows.size() == SEED_BATCH_SIZE || id == employeeCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO employee(id, name, age, gender, salary, company_id) VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public Employee findById() {
+        return employeeService.findById(employeeCount / 2);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> findByGender() {
+        return employeeService.findByGender("female");
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> getEmployeesByNarrowAgeRange() {
+        return employeeService.getEmployeesByAgeRange(30, 30);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> getEmployeesByDeepPage() {
+        return employeeService.getEmployeesByPagination(employeeCount / 20, 10);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesAfterDeepCursor() {
+        return employeeService.getEmployeesAfter(employeeCount - 200, 10);
+    }
+}
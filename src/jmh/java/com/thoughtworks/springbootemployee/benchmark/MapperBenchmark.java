@@ -0,0 +1,65 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MapperBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private final CompanyMapper companyMapper = new CompanyMapper();
+
+    private List<Employee> employees;
+
+    private List<Company> companies;
+
+    @Setup
+    public void setup() {
+        employees = BenchmarkData.employees(employeeCount);
+        companies = BenchmarkData.companies(employees);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeeToResponse() {
+        return employeeMapper.toResponse(employees);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeeToResponseWithBeanUtils() {
+        List<EmployeeResponse> employeeResponses = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            EmployeeResponse employeeResponse = new EmployeeResponse();
+            BeanUtils.copyProperties(employee, employeeResponse);
+            employeeResponses.add(employeeResponse);
+        }
+        return employeeResponses;
+    }
+
+    @Benchmark
+    public List<CompanyResponse> companyToResponse() {
+        return companyMapper.toResponse(companies);
+    }
+}
@@ -0,0 +1,72 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.RetiringCompanyRepository;
+import com.thoughtworks.springbootemployee.repository.RetiringEmployeeRepository;
+import com.thoughtworks.springbootemployee.service.RetiringCompanyService;
+import com.thoughtworks.springbootemployee.service.RetiringEmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RetiringServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private RetiringEmployeeService retiringEmployeeService;
+
+    private RetiringCompanyService retiringCompanyService;
+
+    @Setup
+    public void setup() {
+        List<Employee> employees = BenchmarkData.employees(employeeCount);
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository(employees);
+        retiringEmployeeService = new RetiringEmployeeService(retiringEmployeeRepository);
+
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository(BenchmarkData.companies(employees));
+        retiringCompanyService = new RetiringCompanyService(retiringCompanyRepository);
+    }
+
+    @Benchmark
+    public Employee findEmployeeById() {
+        return retiringEmployeeService.findById(employeeCount / 2);
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByGender() {
+        return retiringEmployeeService.findByGender("female");
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByAgeRange() {
+        return retiringEmployeeService.getEmployeesByAgeRange(30, 32);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByDeepPage() {
+        return retiringEmployeeService.getEmployeesByPagination(employeeCount / 20, 10);
+    }
+
+    @Benchmark
+    public Company findCompanyById() {
+        return retiringCompanyService.findById(BenchmarkData.COMPANY_COUNT);
+    }
+
+    @Benchmark
+    public Company findCompanyByEmployeeId() {
+        return retiringCompanyService.findByEmployeeId(employeeCount / 2);
+    }
+}
@@ -0,0 +1,85 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper smileMapper;
+
+    private List<EmployeeResponse> employeeResponses;
+
+    // reported next to the timings as a secondary result of each benchmark
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        employeeResponses = new EmployeeMapper().toResponse(BenchmarkData.employees(employeeCount));
+    }
+
+    @Benchmark
+    public byte[] employeeResponsesToJson(PayloadSize payloadSize) throws JsonProcessingException {
+        return measured(objectMapper.writeValueAsBytes(employeeResponses), payloadSize);
+    }
+
+    @Benchmark
+    public byte[] employeeResponsesToGzippedJson(PayloadSize payloadSize) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            objectMapper.writeValue(gzipOutputStream, employeeResponses);
+        }
+        return measured(outputStream.toByteArray(), payloadSize);
+    }
+
+    @Benchmark
+    public byte[] employeeResponsesToCbor(PayloadSize payloadSize) throws JsonProcessingException {
+        return measured(cborMapper.writeValueAsBytes(employeeResponses), payloadSize);
+    }
+
+    @Benchmark
+    public byte[] employeeResponsesToSmile(PayloadSize payloadSize) throws JsonProcessingException {
+        return measured(smileMapper.writeValueAsBytes(employeeResponses), payloadSize);
+    }
+
+    private static byte[] measured(byte[] payload, PayloadSize payloadSize) {
+        payloadSize.payloadBytes = payload.length;
+        return payload;
+    }
+}
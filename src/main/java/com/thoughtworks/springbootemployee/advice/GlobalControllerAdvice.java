@@ -2,24 +2,79 @@ package com.thoughtworks.springbootemployee.advice;
 
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeVersionConflictException;
+import com.thoughtworks.springbootemployee.exception.InvalidPaginationException;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchException;
+import com.thoughtworks.springbootemployee.exception.InvalidStatisticsGroupException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalControllerAdvice {
+    public static final String ERROR_METRIC_NAME = "http.server.errors";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler
     public ErrorResponse employeeNotFoundExceptionHandling(EmployeeNotFoundException employeeNotFoundException){
+        countError(employeeNotFoundException, HttpStatus.NOT_FOUND);
         return new ErrorResponse(employeeNotFoundException.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public ErrorResponse employeeVersionConflictExceptionHandling(EmployeeVersionConflictException employeeVersionConflictException){
+        countError(employeeVersionConflictException, HttpStatus.CONFLICT);
+        return new ErrorResponse(employeeVersionConflictException.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler
     public ErrorResponse companyNotFoundExceptionHandling(CompanyNotFoundException companyNotFoundException){
+        countError(companyNotFoundException, HttpStatus.NOT_FOUND);
         return new ErrorResponse(companyNotFoundException.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler
+    public ErrorResponse invalidPaginationExceptionHandling(InvalidPaginationException invalidPaginationException){
+        countError(invalidPaginationException, HttpStatus.BAD_REQUEST);
+        return new ErrorResponse(invalidPaginationException.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler
+    public ErrorResponse invalidSearchExceptionHandling(InvalidSearchException invalidSearchException){
+        countError(invalidSearchException, HttpStatus.BAD_REQUEST);
+        return new ErrorResponse(invalidSearchException.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler
+    public ErrorResponse invalidStatisticsGroupExceptionHandling(InvalidStatisticsGroupException invalidStatisticsGroupException){
+        countError(invalidStatisticsGroupException, HttpStatus.BAD_REQUEST);
+        return new ErrorResponse(invalidStatisticsGroupException.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler
+    public ErrorResponse rejectedExecutionExceptionHandling(RejectedExecutionException rejectedExecutionException){
+        countError(rejectedExecutionException, HttpStatus.SERVICE_UNAVAILABLE);
+        return new ErrorResponse("Too many requests in progress, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private void countError(Exception exception, HttpStatus status) {
+        meterRegistry.counter(ERROR_METRIC_NAME,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+
 }
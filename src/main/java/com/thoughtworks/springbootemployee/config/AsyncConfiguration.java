@@ -0,0 +1,74 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.metrics.RequestQueryContext;
+import com.thoughtworks.springbootemployee.routing.PrimaryRoute;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfiguration {
+    public static final String REQUEST_EXECUTOR = "requestExecutor";
+    private static final String THREAD_NAME_PREFIX = "request-";
+
+    @Bean
+    public RejectedRequestCounter rejectedRequestCounter() {
+        return new RejectedRequestCounter();
+    }
+
+    @Bean(name = REQUEST_EXECUTOR)
+    public Executor requestExecutor(AsyncProperties asyncProperties, RejectedRequestCounter rejectedRequestCounter) {
+        if (!asyncProperties.isEnabled()) {
+            return Runnable::run;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.getPoolSize());
+        executor.setMaxPoolSize(asyncProperties.getPoolSize());
+        executor.setQueueCapacity(asyncProperties.getQueueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setRejectedExecutionHandler(rejectedRequestCounter);
+        executor.setTaskDecorator(task -> RequestQueryContext.propagate(PrimaryRoute.propagate(task)));
+        if (asyncProperties.isVirtualThreads()) {
+            virtualThreadFactory().ifPresent(executor::setThreadFactory);
+        }
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder requestExecutorMetrics(@Qualifier(REQUEST_EXECUTOR) Executor requestExecutor,
+                                              RejectedRequestCounter rejectedRequestCounter) {
+        return meterRegistry -> {
+            if (requestExecutor instanceof ThreadPoolTaskExecutor) {
+                new ExecutorServiceMetrics(((ThreadPoolTaskExecutor) requestExecutor).getThreadPoolExecutor(),
+                        REQUEST_EXECUTOR, Tags.empty()).bindTo(meterRegistry);
+            }
+            FunctionCounter.builder("executor.rejected", rejectedRequestCounter, RejectedRequestCounter::getRejectedCount)
+                    .description("Tasks rejected because the request executor queue was full")
+                    .tag("name", REQUEST_EXECUTOR)
+                    .register(meterRegistry);
+        };
+    }
+
+    // Thread.ofVirtual() only exists from Java 21 on, so it is looked up reflectively to keep Java 8 sources
+    static Optional<ThreadFactory> virtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException exception) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+    public static final String EMPLOYEES = "employees";
+    public static final String COMPANIES = "companies";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.asList(
+                buildCache(EMPLOYEES, cacheProperties.getSpec(EMPLOYEES)),
+                buildCache(COMPANIES, cacheProperties.getSpec(COMPANIES))));
+        return cacheManager;
+    }
+
+    private Cache buildCache(String cacheName, CacheProperties.CacheSpec cacheSpec) {
+        if (!cacheSpec.isEnabled()) {
+            return new NoOpCache(cacheName);
+        }
+        return new CaffeineCache(cacheName, Caffeine.newBuilder()
+                .maximumSize(cacheSpec.getMaximumSize())
+                .expireAfterWrite(cacheSpec.getExpireAfterWrite())
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Map<String, CacheSpec> entities = new HashMap<>();
+
+    public Map<String, CacheSpec> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(Map<String, CacheSpec> entities) {
+        this.entities = entities;
+    }
+
+    public CacheSpec getSpec(String cacheName) {
+        return entities.getOrDefault(cacheName, new CacheSpec());
+    }
+
+    public static class CacheSpec {
+        private boolean enabled = true;
+        private long maximumSize = 10000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    // a transaction that stays open longer than this after writing a row can still be skipped by the change token,
+    // consumers that cannot tolerate that should follow /events, whose outbox ids are gap-checked
+    private Duration settleTime = Duration.ofSeconds(1);
+
+    public Duration getSettleTime() {
+        return settleTime;
+    }
+
+    public void setSettleTime(Duration settleTime) {
+        this.settleTime = settleTime;
+    }
+}
@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.queries")
+public class QueryLogProperties {
+
+    private Duration slowThreshold = Duration.ofMillis(200);
+    private int top = 10;
+    private int maxStatements = 1000;
+    private boolean logParameters = false;
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = top;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public boolean isLogParameters() {
+        return logParameters;
+    }
+
+    public void setLogParameters(boolean logParameters) {
+        this.logParameters = logParameters;
+    }
+}
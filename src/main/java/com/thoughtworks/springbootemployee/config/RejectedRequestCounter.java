@@ -0,0 +1,21 @@
+package com.thoughtworks.springbootemployee.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RejectedRequestCounter implements RejectedExecutionHandler {
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejectedCount.incrementAndGet();
+        throw new RejectedExecutionException("Request queue is full");
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -1,73 +1,202 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.config.AsyncConfiguration;
+import com.thoughtworks.springbootemployee.dto.CursorPageResponse;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.SalaryStatisticsResponse;
+import com.thoughtworks.springbootemployee.exception.InvalidPaginationException;
 import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.CursorMapper;
+import com.thoughtworks.springbootemployee.mapper.ETagMapper;
 import com.thoughtworks.springbootemployee.entity.Company;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
 import com.thoughtworks.springbootemployee.entity.Employee;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.mapper.SalaryStatisticsMapper;
+import com.thoughtworks.springbootemployee.repository.CompanySummary;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.StatisticsGroup;
+import com.thoughtworks.springbootemployee.service.StatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/companies")
 public class CompanyController {
+    private static final String EXPAND_EMPLOYEES = "employees";
+    private static final List<MediaType> EMPLOYEE_LIST_REPRESENTATIONS = Arrays.asList(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
     @Autowired
     private CompanyMapper companyMapper;
 
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
     @Autowired
     EmployeeMapper employeeMapper;
 
+    @Autowired
+    CursorMapper cursorMapper;
+
+    @Autowired
+    ETagMapper eTagMapper;
+
+    @Autowired
+    SalaryStatisticsMapper salaryStatisticsMapper;
+
+    @Autowired
+    @Qualifier(AsyncConfiguration.REQUEST_EXECUTOR)
+    Executor requestExecutor;
+
     public CompanyController() {
 
     }
 
     @GetMapping
-    public List<CompanyResponse> getAllCompanies(){
-        return companyMapper.toResponse(companyService.getAllCompanies());
+    public CompletableFuture<List<CompanyResponse>> getAllCompanies(){
+        return async(() -> companyMapper.toSummaryResponse(companyService.getAllCompanySummaries()));
     }
 
 
     @GetMapping(path = "/{companyId}")
-    public CompanyResponse findById(@PathVariable Integer companyId){
-        return companyMapper.toResponse(companyService.findById(companyId));
+    public CompletableFuture<ResponseEntity<CompanyResponse>> findById(@PathVariable Integer companyId,
+                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return async(() -> {
+            ResponseEntity<CompanyResponse> notModified = checkNotModified(companyId, ifNoneMatch);
+            if (notModified != null) {
+                return notModified;
+            }
+            Company company = companyService.findById(companyId);
+            return ResponseEntity.ok().eTag(eTagMapper.toETag(company.getVersion())).body(companyMapper.toResponse(company));
+        });
     }
 
     @GetMapping(path = "/{companyId}/employees")
-    public List<EmployeeResponse> getAllEmployeesByCompanyId(@PathVariable Integer companyId){
-        return employeeMapper.toResponse(companyService.getAllEmployeesByCompanyId(companyId));
+    public CompletableFuture<ResponseEntity<List<EmployeeResponse>>> getAllEmployeesByCompanyId(@PathVariable Integer companyId,
+                                                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept){
+        return async(() -> {
+            MediaType representation = negotiateEmployeeListRepresentation(accept);
+            if (ifNoneMatch != null) {
+                String eTag = eTagMapper.toETag(companyService.findVersionById(companyId), representation);
+                if (eTagMapper.matches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).<List<EmployeeResponse>>build();
+                }
+            }
+            Company company = companyService.findById(companyId);
+            return ResponseEntity.ok()
+                    .contentType(representation)
+                    .eTag(eTagMapper.toETag(company.getVersion(), representation))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(employeeMapper.toResponse(company.getEmployees()));
+        });
+    }
+
+    @GetMapping(path = "/{companyId}/stats")
+    public CompletableFuture<List<SalaryStatisticsResponse>> getSalaryStatisticsByCompanyId(@PathVariable Integer companyId, @RequestParam(defaultValue = "none") String groupBy){
+        return async(() -> salaryStatisticsMapper.toResponse(statisticsService.getSalaryStatisticsByCompanyId(companyId, StatisticsGroup.of(groupBy))));
     }
 
-    @GetMapping(params = {"pageIndex", "pageSize"})
-    public List<CompanyResponse> getCompaniesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize) {
-        return companyMapper.toResponse(companyService.getCompaniesByPagination(pageIndex, pageSize));
+    @GetMapping(params = {"pageIndex", "pageSize", "!limit"})
+    public CompletableFuture<List<CompanyResponse>> getCompaniesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize,
+                                                                            @RequestParam(required = false) String expand) {
+        return async(() -> {
+            if (EXPAND_EMPLOYEES.equals(expand)) {
+                return companyMapper.toResponse(companyService.getCompaniesWithEmployeesByPagination(pageIndex, pageSize));
+            }
+            return companyMapper.toSummaryResponse(companyService.getCompaniesByPagination(pageIndex, pageSize));
+        });
+    }
+
+    @GetMapping(params = {"limit"})
+    public CompletableFuture<CursorPageResponse<CompanyResponse>> getCompaniesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit,
+                                                                                     HttpServletRequest request) {
+        // a cursor page cannot be combined with an offset page
+        boolean mixedListing = request.getParameter("pageIndex") != null || request.getParameter("pageSize") != null;
+        return async(() -> {
+            if (mixedListing || limit < 1 || limit > CursorMapper.MAX_LIMIT) {
+                throw new InvalidPaginationException();
+            }
+            List<CompanySummary> companies = companyService.getCompaniesAfter(cursorMapper.toId(after), limit + 1);
+            boolean hasNext = companies.size() > limit;
+            List<CompanySummary> page = hasNext ? companies.subList(0, limit) : companies;
+            String nextCursor = hasNext ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            return new CursorPageResponse<>(companyMapper.toSummaryResponse(page), nextCursor);
+        });
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public CompanyResponse addCompany(@RequestBody CompanyRequest companyInfo){
-        final Company company = companyService.addCompany(companyMapper.toEntity(companyInfo));
-        return companyMapper.toResponse(company);
+    public CompletableFuture<CompanyResponse> addCompany(@RequestBody CompanyRequest companyInfo){
+        return async(() -> {
+            final Company company = companyService.addCompany(companyMapper.toEntity(companyInfo));
+            return companyMapper.toResponse(company);
+        });
     }
 
     @PutMapping(path = "/{companyId}")
-    public CompanyResponse updateCompany(@PathVariable Integer companyId, @RequestBody CompanyRequest companyInfo){
-        final Company company =  companyService.updateCompany(companyId, companyMapper.toEntity(companyInfo));
-        return companyMapper.toResponse(company);
+    public CompletableFuture<CompanyResponse> updateCompany(@PathVariable Integer companyId, @RequestBody CompanyRequest companyInfo){
+        return async(() -> {
+            final Company company =  companyService.updateCompany(companyId, companyMapper.toEntity(companyInfo));
+            return companyMapper.toResponse(company);
+        });
     }
 
     @DeleteMapping(path = "/{companyId}")
-    public CompanyResponse deleteCompany(@PathVariable Integer companyId){
-        return companyMapper.toResponse(companyService.removeCompany(companyId));
+    public CompletableFuture<CompanyResponse> deleteCompany(@PathVariable Integer companyId){
+        return async(() -> companyMapper.toResponse(companyService.removeCompany(companyId)));
+    }
+
+    private <T> ResponseEntity<T> checkNotModified(Integer companyId, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        int version = companyService.findVersionById(companyId);
+        if (!eTagMapper.matches(ifNoneMatch, version)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTagMapper.toETag(version)).build();
+    }
+
+    // mirrors Spring's own selection so the ETag names the representation the converters will write
+    private static MediaType negotiateEmployeeListRepresentation(String accept) {
+        List<MediaType> acceptableTypes;
+        try {
+            acceptableTypes = accept == null ? new ArrayList<>() : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(acceptableTypes);
+        for (MediaType acceptableType : acceptableTypes) {
+            for (MediaType representation : EMPLOYEE_LIST_REPRESENTATIONS) {
+                if (acceptableType.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, requestExecutor);
     }
 
 }
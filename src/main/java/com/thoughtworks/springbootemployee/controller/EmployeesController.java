@@ -1,68 +1,257 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thoughtworks.springbootemployee.config.AsyncConfiguration;
+import com.thoughtworks.springbootemployee.dto.BatchItemResponse;
+import com.thoughtworks.springbootemployee.dto.CursorPageResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchUpdateRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeChangeResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
+import com.thoughtworks.springbootemployee.dto.SearchPageResponse;
+import com.thoughtworks.springbootemployee.dto.SalaryStatisticsResponse;
+import com.thoughtworks.springbootemployee.exception.EmployeeVersionConflictException;
+import com.thoughtworks.springbootemployee.exception.InvalidPaginationException;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchException;
+import com.thoughtworks.springbootemployee.mapper.CursorMapper;
+import com.thoughtworks.springbootemployee.mapper.ETagMapper;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeSearchMapper;
+import com.thoughtworks.springbootemployee.mapper.SalaryStatisticsMapper;
 import com.thoughtworks.springbootemployee.entity.Employee;
-//import com.thoughtworks.springbootemployee.service.EmployeeService;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.service.EmployeeBatchService;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.service.StatisticsGroup;
+import com.thoughtworks.springbootemployee.service.StatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeesController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final int MAX_CHANGES_LIMIT = 1000;
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
     @Autowired
     EmployeeMapper employeeMapper;
 
+    @Autowired
+    EmployeeSearchMapper employeeSearchMapper;
+
+    @Autowired
+    CursorMapper cursorMapper;
+
+    @Autowired
+    ETagMapper eTagMapper;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    SalaryStatisticsMapper salaryStatisticsMapper;
+
+    @Autowired
+    @Qualifier(AsyncConfiguration.REQUEST_EXECUTOR)
+    Executor requestExecutor;
+
     @GetMapping
-    public List<EmployeeResponse> getAllEmployees(){
-        return employeeMapper.toResponse(employeeService.getAllEmployees());
+    public CompletableFuture<List<EmployeeResponse>> getAllEmployees(){
+        return async(() -> employeeService.getAllEmployees());
+    }
+
+    @GetMapping(path = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        ObjectWriter employeeWriter = objectMapper.writerFor(EmployeeResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            employeeService.exportEmployees(employee -> {
+                try {
+                    employeeWriter.writeValue(generator, employeeMapper.toResponse(employee));
+                    generator.writeRaw('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+    }
+
+    @GetMapping(path = "/stats")
+    public CompletableFuture<List<SalaryStatisticsResponse>> getSalaryStatistics(@RequestParam(defaultValue = "none") String groupBy){
+        return async(() -> salaryStatisticsMapper.toResponse(statisticsService.getSalaryStatistics(StatisticsGroup.of(groupBy))));
+    }
+
+    @GetMapping(path = "/search")
+    public CompletableFuture<SearchPageResponse<EmployeeResponse>> searchEmployees(EmployeeSearchRequest searchRequest){
+        return async(() -> {
+            Pageable pageable = employeeSearchMapper.toPageable(searchRequest);
+            Slice<EmployeeResponse> employees = employeeService.searchEmployees(employeeSearchMapper.toSpecification(searchRequest), pageable);
+            return new SearchPageResponse<>(employees.getContent(), searchRequest.getPageIndex(), pageable.getPageSize(), employees.hasNext());
+        });
+    }
+
+    // best effort: a write transaction open longer than app.changes.settle-time can be skipped, /events never skips
+    @GetMapping(path = "/changes")
+    public CompletableFuture<CursorPageResponse<EmployeeChangeResponse>> getChangesSince(@RequestParam(required = false) String since,
+                                                                                        @RequestParam(defaultValue = "500") Integer limit) {
+        return async(() -> {
+            if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+                throw new InvalidPaginationException();
+            }
+            long changeSequence = cursorMapper.toChangeSequence(since);
+            List<EmployeeChangeResponse> changes = employeeService.getChangesSince(changeSequence, limit);
+            long nextChangeSequence = changes.isEmpty() ? changeSequence : changes.get(changes.size() - 1).getChangeSequence();
+            return new CursorPageResponse<>(changes, cursorMapper.toChangeToken(nextChangeSequence));
+        });
     }
 
     @GetMapping(path = "/{employeeId}")
-    public EmployeeResponse findById(@PathVariable Integer employeeId){
-        return employeeMapper.toResponse(employeeService.findById(employeeId));
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> findById(@PathVariable Integer employeeId,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return async(() -> {
+            if (ifNoneMatch != null) {
+                int version = employeeService.findVersionById(employeeId);
+                if (eTagMapper.matches(ifNoneMatch, version)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTagMapper.toETag(version)).<EmployeeResponse>build();
+                }
+            }
+            Employee employee = employeeService.findById(employeeId);
+            return ResponseEntity.ok().eTag(eTagMapper.toETag(employee.getVersion())).body(employeeMapper.toResponse(employee));
+        });
     }
 
-    @GetMapping(params = {"gender"})
-    public List<EmployeeResponse> findByGender(@RequestParam("gender") String employeeGender){
-        return employeeMapper.toResponse(employeeService.findByGender(employeeGender));
+    @GetMapping(params = {"gender", "!limit", "!q"})
+    public CompletableFuture<List<EmployeeResponse>> findByGender(@RequestParam("gender") String employeeGender){
+        return async(() -> employeeService.findByGender(employeeGender));
     }
 
-    @GetMapping(params = {"pageIndex", "pageSize"})
-    public List<EmployeeResponse> getEmployeesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize) {
-        return employeeMapper.toResponse(employeeService.getEmployeesByPagination(pageIndex, pageSize));
+    @GetMapping(params = {"q"})
+    public CompletableFuture<SearchPageResponse<EmployeeResponse>> searchByName(@RequestParam("q") String query,
+                                                                            @RequestParam(defaultValue = "1") Integer pageIndex,
+                                                                            @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                            HttpServletRequest request) {
+        // name search ranks by relevance, so it cannot be combined with the filters and cursor of the other listings
+        boolean mixedListing = hasAnyParameter(request, "gender", "limit", "minAge", "maxAge");
+        return async(() -> {
+            if (mixedListing || pageIndex < 1 || pageSize < 1 || pageSize > EmployeeSearchMapper.MAX_PAGE_SIZE) {
+                throw new InvalidSearchException();
+            }
+            List<Employee> employees = employeeService.searchByName(query, pageIndex, pageSize);
+            boolean hasNext = employees.size() > pageSize;
+            List<Employee> page = hasNext ? employees.subList(0, pageSize) : employees;
+            return new SearchPageResponse<>(employeeMapper.toResponse(page), pageIndex, pageSize, hasNext);
+        });
+    }
+
+    @GetMapping(params = {"pageIndex", "pageSize", "!q", "!limit"})
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize) {
+        return async(() -> employeeService.getEmployeesByPagination(pageIndex, pageSize));
+    }
+
+    @GetMapping(params = {"limit", "!q"})
+    public CompletableFuture<CursorPageResponse<EmployeeResponse>> getEmployeesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit,
+                                                                                      HttpServletRequest request) {
+        // a cursor page cannot be combined with the filters and offset pages of the other listings
+        boolean mixedListing = hasAnyParameter(request, "gender", "pageIndex", "pageSize", "minAge", "maxAge");
+        return async(() -> {
+            if (mixedListing || limit < 1 || limit > CursorMapper.MAX_LIMIT) {
+                throw new InvalidPaginationException();
+            }
+            List<Employee> employees = employeeService.getEmployeesAfter(cursorMapper.toId(after), limit + 1);
+            boolean hasNext = employees.size() > limit;
+            List<Employee> page = hasNext ? employees.subList(0, limit) : employees;
+            String nextCursor = hasNext ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            return new CursorPageResponse<>(employeeMapper.toResponse(page), nextCursor);
+        });
     }
 
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public EmployeeResponse addEmployee(@RequestBody EmployeeRequest employeeInfo){
-        final Employee employee = employeeService.addEmployee(employeeMapper.toEntity(employeeInfo));
-        return employeeMapper.toResponse(employee);
+    public CompletableFuture<EmployeeResponse> addEmployee(@RequestBody EmployeeRequest employeeInfo){
+        return async(() -> {
+            final Employee employee = employeeService.addEmployee(employeeMapper.toEntity(employeeInfo));
+            return employeeMapper.toResponse(employee);
+        });
     }
 
-    @GetMapping(params = {"minAge", "maxAge"})
-    public List<EmployeeResponse> getEmployeesByAgeRange(@RequestParam Integer minAge, @RequestParam Integer maxAge) {
-        return employeeMapper.toResponse(employeeService.getEmployeesByAgeRange(minAge, maxAge));
+    @PostMapping(path = "/batch")
+    public CompletableFuture<List<BatchItemResponse>> addEmployees(@RequestBody List<EmployeeRequest> employeeInfos){
+        return async(() -> employeeBatchService.addEmployees(employeeInfos.stream()
+                .map(employeeMapper::toEntity)
+                .collect(Collectors.toList())));
+    }
+
+    @PutMapping(path = "/batch")
+    public CompletableFuture<List<BatchItemResponse>> updateEmployees(@RequestBody List<EmployeeBatchUpdateRequest> employeeInfos){
+        return async(() -> employeeBatchService.updateEmployees(employeeInfos.stream()
+                .map(employeeMapper::toEntity)
+                .collect(Collectors.toList())));
+    }
+
+    @DeleteMapping(path = "/batch")
+    public CompletableFuture<List<BatchItemResponse>> deleteEmployees(@RequestBody List<Integer> employeeIds){
+        return async(() -> employeeBatchService.removeEmployees(employeeIds));
+    }
+
+    @GetMapping(params = {"minAge", "maxAge", "!limit", "!q"})
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByAgeRange(@RequestParam Integer minAge, @RequestParam Integer maxAge) {
+        return async(() -> employeeService.getEmployeesByAgeRange(minAge, maxAge));
     }
 
     @PutMapping(path = "/{employeeId}")
-    public EmployeeResponse updateEmployee(@PathVariable Integer employeeId, @RequestBody EmployeeRequest employeeInfo){
-        final Employee employee = employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeInfo));
-        return employeeMapper.toResponse(employee);
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> updateEmployee(@PathVariable Integer employeeId, @RequestBody EmployeeRequest employeeInfo,
+                                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return async(() -> {
+            Integer expectedVersion = ifMatch == null || ifMatch.trim().equals("*") ? null
+                    : eTagMapper.toVersion(ifMatch).orElseThrow(EmployeeVersionConflictException::new);
+            final Employee employee = employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeInfo), expectedVersion);
+            return ResponseEntity.ok().eTag(eTagMapper.toETag(employee.getVersion())).body(employeeMapper.toResponse(employee));
+        });
     }
 
     @DeleteMapping(path = "/{employeeId}")
-    public EmployeeResponse deleteEmployee(@PathVariable Integer employeeId){
-        return employeeMapper.toResponse(employeeService.removeEmployee(employeeId));
+    public CompletableFuture<EmployeeResponse> deleteEmployee(@PathVariable Integer employeeId){
+        return async(() -> employeeMapper.toResponse(employeeService.removeEmployee(employeeId)));
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, requestExecutor);
+    }
+
+    private static boolean hasAnyParameter(HttpServletRequest request, String... names) {
+        return Arrays.stream(names).anyMatch(name -> request.getParameter(name) != null);
     }
 
 }
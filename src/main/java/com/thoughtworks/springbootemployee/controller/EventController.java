@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.event.EventDispatcher;
+import com.thoughtworks.springbootemployee.exception.InvalidPaginationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+@RestController
+@RequestMapping("/events")
+public class EventController {
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    @Autowired
+    private EventDispatcher eventDispatcher;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter subscribe(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return eventDispatcher.subscribe(toEventId(lastEventId));
+    }
+
+    private static Long toEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId);
+        } catch (NumberFormatException exception) {
+            throw new InvalidPaginationException();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.thoughtworks.springbootemployee.config.AsyncConfiguration;
+import com.thoughtworks.springbootemployee.config.QueryLogProperties;
+import com.thoughtworks.springbootemployee.config.RejectedRequestCounter;
+import com.thoughtworks.springbootemployee.dto.CacheStatsResponse;
+import com.thoughtworks.springbootemployee.dto.ExecutorStatsResponse;
+import com.thoughtworks.springbootemployee.dto.QueryReportResponse;
+import com.thoughtworks.springbootemployee.dto.StatementStatisticsResponse;
+import com.thoughtworks.springbootemployee.metrics.StatementStatistics;
+import com.thoughtworks.springbootemployee.metrics.StatementStatisticsListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/internal")
+public class InternalController {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier(AsyncConfiguration.REQUEST_EXECUTOR)
+    private Executor requestExecutor;
+
+    @Autowired
+    private RejectedRequestCounter rejectedRequestCounter;
+
+    @Autowired
+    private StatementStatisticsListener statementStatisticsListener;
+
+    @Autowired
+    private QueryLogProperties queryLogProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @GetMapping(path = "/caches")
+    public Map<String, CacheStatsResponse> getCacheStats(){
+        Map<String, CacheStatsResponse> cacheStats = new LinkedHashMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            cacheStats.put(cacheName, toCacheStatsResponse(cacheManager.getCache(cacheName)));
+        }
+        return cacheStats;
+    }
+
+    @GetMapping(path = "/executor")
+    public ExecutorStatsResponse getExecutorStats(){
+        if (!(requestExecutor instanceof ThreadPoolTaskExecutor)) {
+            return new ExecutorStatsResponse(false, 0, 0, 0, 0, rejectedRequestCounter.getRejectedCount());
+        }
+        ThreadPoolExecutor executor = ((ThreadPoolTaskExecutor) requestExecutor).getThreadPoolExecutor();
+        return new ExecutorStatsResponse(true, executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                executor.getQueue().remainingCapacity(), rejectedRequestCounter.getRejectedCount());
+    }
+
+    @GetMapping(path = "/queries")
+    public QueryReportResponse getQueryReport(){
+        int top = queryLogProperties.getTop();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> collectionFetchCounts = new LinkedHashMap<>();
+        for (String role : statistics.getCollectionRoleNames()) {
+            collectionFetchCounts.put(role, statistics.getCollectionStatistics(role).getFetchCount());
+        }
+        return new QueryReportResponse(
+                toStatementStatisticsResponse(statementStatisticsListener.getSlowest(top)),
+                toStatementStatisticsResponse(statementStatisticsListener.getMostFrequent(top)),
+                toHibernateQueryResponse(statistics, top),
+                collectionFetchCounts,
+                statistics.getEntityLoadCount(),
+                statistics.getPrepareStatementCount());
+    }
+
+    private List<StatementStatisticsResponse> toStatementStatisticsResponse(List<StatementStatistics> statementStatistics) {
+        return statementStatistics.stream()
+                .map(statistics -> new StatementStatisticsResponse(statistics.getSql(), statistics.getExecutionCount(),
+                        statistics.getTotalTimeMillis(), statistics.getMaxTimeMillis(),
+                        (double) statistics.getTotalTimeMillis() / Math.max(statistics.getExecutionCount(), 1),
+                        statistics.getRowCount()))
+                .collect(Collectors.toList());
+    }
+
+    private List<StatementStatisticsResponse> toHibernateQueryResponse(Statistics statistics, int top) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> toHibernateQueryResponse(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(StatementStatisticsResponse::getExecutionCount).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    private StatementStatisticsResponse toHibernateQueryResponse(String query, QueryStatistics queryStatistics) {
+        return new StatementStatisticsResponse(query, queryStatistics.getExecutionCount(),
+                queryStatistics.getExecutionAvgTime() * queryStatistics.getExecutionCount(), queryStatistics.getExecutionMaxTime(),
+                queryStatistics.getExecutionAvgTime(), queryStatistics.getExecutionRowCount());
+    }
+
+    private CacheStatsResponse toCacheStatsResponse(Cache cache) {
+        if (!(cache instanceof CaffeineCache)) {
+            return new CacheStatsResponse(false, 0, 0, 0, 0, 0);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsResponse(true, nativeCache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+}
@@ -0,0 +1,37 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import org.springframework.http.HttpStatus;
+
+public class BatchItemResponse {
+    private Integer index;
+    private Integer id;
+    private HttpStatus status;
+    private String message;
+
+    public BatchItemResponse(Integer index, Integer id, HttpStatus status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public BatchItemResponse() {
+
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeeBatchUpdateRequest extends EmployeeRequest {
+
+    private Integer id;
+
+    public EmployeeBatchUpdateRequest(Integer id, String name, Integer age, String gender, Integer salary) {
+        super(name, age, gender, salary);
+        this.id = id;
+    }
+
+    public EmployeeBatchUpdateRequest() {
+
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+}
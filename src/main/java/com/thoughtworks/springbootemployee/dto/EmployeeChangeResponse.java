@@ -0,0 +1,92 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeeChangeResponse {
+    private Integer id;
+    private Long changeSequence;
+    private boolean deleted;
+    private String name;
+    private Integer age;
+    private String gender;
+    private Integer salary;
+    private Integer companyId;
+
+    public EmployeeChangeResponse(Integer id, Long changeSequence, boolean deleted, String name, Integer age,
+                                  String gender, Integer salary, Integer companyId) {
+        this.id = id;
+        this.changeSequence = changeSequence;
+        this.deleted = deleted;
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+        this.salary = salary;
+        this.companyId = companyId;
+    }
+
+    public EmployeeChangeResponse() {
+
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getChangeSequence() {
+        return changeSequence;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public void setChangeSequence(Long changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public void setSalary(Integer salary) {
+        this.salary = salary;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+}
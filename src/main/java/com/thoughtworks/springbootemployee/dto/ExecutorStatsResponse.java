@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class ExecutorStatsResponse {
+    private boolean enabled;
+    private int poolSize;
+    private int activeCount;
+    private int queueSize;
+    private int remainingQueueCapacity;
+    private long rejectedCount;
+
+    public ExecutorStatsResponse() {
+    }
+
+    public ExecutorStatsResponse(boolean enabled, int poolSize, int activeCount, int queueSize, int remainingQueueCapacity, long rejectedCount) {
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.remainingQueueCapacity = remainingQueueCapacity;
+        this.rejectedCount = rejectedCount;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getRemainingQueueCapacity() {
+        return remainingQueueCapacity;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+}
@@ -0,0 +1,51 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class QueryReportResponse {
+    private List<StatementStatisticsResponse> slowest;
+    private List<StatementStatisticsResponse> mostFrequent;
+    private List<StatementStatisticsResponse> hibernateQueries;
+    private Map<String, Long> collectionFetchCounts;
+    private long entityLoadCount;
+    private long prepareStatementCount;
+
+    public QueryReportResponse() {
+    }
+
+    public QueryReportResponse(List<StatementStatisticsResponse> slowest, List<StatementStatisticsResponse> mostFrequent,
+                               List<StatementStatisticsResponse> hibernateQueries, Map<String, Long> collectionFetchCounts,
+                               long entityLoadCount, long prepareStatementCount) {
+        this.slowest = slowest;
+        this.mostFrequent = mostFrequent;
+        this.hibernateQueries = hibernateQueries;
+        this.collectionFetchCounts = collectionFetchCounts;
+        this.entityLoadCount = entityLoadCount;
+        this.prepareStatementCount = prepareStatementCount;
+    }
+
+    public List<StatementStatisticsResponse> getSlowest() {
+        return slowest;
+    }
+
+    public List<StatementStatisticsResponse> getMostFrequent() {
+        return mostFrequent;
+    }
+
+    public List<StatementStatisticsResponse> getHibernateQueries() {
+        return hibernateQueries;
+    }
+
+    public Map<String, Long> getCollectionFetchCounts() {
+        return collectionFetchCounts;
+    }
+
+    public long getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    public long getPrepareStatementCount() {
+        return prepareStatementCount;
+    }
+}
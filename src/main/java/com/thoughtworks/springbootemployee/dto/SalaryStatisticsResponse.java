@@ -0,0 +1,89 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class SalaryStatisticsResponse {
+    private String groupKey;
+    private Long count;
+    private Double sum;
+    private Double min;
+    private Double max;
+    private Double avg;
+    private Double p50;
+    private Double p90;
+    private Double p99;
+
+    public SalaryStatisticsResponse() {
+
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public Double getSum() {
+        return sum;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public Double getAvg() {
+        return avg;
+    }
+
+    public Double getP50() {
+        return p50;
+    }
+
+    public Double getP90() {
+        return p90;
+    }
+
+    public Double getP99() {
+        return p99;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public void setAvg(Double avg) {
+        this.avg = avg;
+    }
+
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+}
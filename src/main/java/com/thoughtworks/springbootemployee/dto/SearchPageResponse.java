@@ -0,0 +1,53 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class SearchPageResponse<T> {
+    private List<T> content;
+    private Integer pageIndex;
+    private Integer pageSize;
+    private boolean hasNext;
+
+    public SearchPageResponse(List<T> content, Integer pageIndex, Integer pageSize, boolean hasNext) {
+        this.content = content;
+        this.pageIndex = pageIndex;
+        this.pageSize = pageSize;
+        this.hasNext = hasNext;
+    }
+
+    public SearchPageResponse() {
+
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Integer getPageIndex() {
+        return pageIndex;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public void setPageIndex(Integer pageIndex) {
+        this.pageIndex = pageIndex;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class StatementStatisticsResponse {
+    private String sql;
+    private long executionCount;
+    private long totalTimeMillis;
+    private long maxTimeMillis;
+    private double averageTimeMillis;
+    private long rowCount;
+
+    public StatementStatisticsResponse() {
+    }
+
+    public StatementStatisticsResponse(String sql, long executionCount, long totalTimeMillis, long maxTimeMillis, double averageTimeMillis, long rowCount) {
+        this.sql = sql;
+        this.executionCount = executionCount;
+        this.totalTimeMillis = totalTimeMillis;
+        this.maxTimeMillis = maxTimeMillis;
+        this.averageTimeMillis = averageTimeMillis;
+        this.rowCount = rowCount;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getTotalTimeMillis() {
+        return totalTimeMillis;
+    }
+
+    public long getMaxTimeMillis() {
+        return maxTimeMillis;
+    }
+
+    public double getAverageTimeMillis() {
+        return averageTimeMillis;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
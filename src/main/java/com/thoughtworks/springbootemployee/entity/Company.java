@@ -11,6 +11,8 @@ public class Company {
     private String companyName;
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "companyId")
     private List<Employee> employees;
+    @Version
+    private int version;
 
     public Company(Integer id, String companyName, List<Employee> employees) {
         this.id = id;
@@ -34,6 +36,10 @@ public class Company {
         return employees;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public void setCompanyName(String companyName) {
         this.companyName = companyName;
     }
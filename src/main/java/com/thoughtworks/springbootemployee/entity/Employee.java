@@ -1,20 +1,27 @@
 package com.thoughtworks.springbootemployee.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private Integer age;
     private String gender;
     private Integer salary;
     private Integer companyId;
+    @Version
+    private int version;
 
     public Employee(Integer id, String name, Integer age, String gender, Integer salary, Integer companyId) {
         this.id = id;
@@ -73,6 +80,11 @@ public class Employee {
         this.salary = salary;
     }
 
+    @JsonIgnore
+    public int getVersion() {
+        return version;
+    }
+
     public Integer getCompanyId() {
         return companyId;
     }
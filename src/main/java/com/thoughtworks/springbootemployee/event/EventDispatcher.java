@@ -0,0 +1,163 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.thoughtworks.springbootemployee.config.EventProperties;
+import com.thoughtworks.springbootemployee.entity.OutboxEvent;
+import com.thoughtworks.springbootemployee.repository.OutboxEventRepository;
+import com.thoughtworks.springbootemployee.routing.PrimaryRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class EventDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(EventDispatcher.class);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final List<EventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private OutboxEventRepository outboxEventRepository;
+
+    private EventProperties eventProperties;
+
+    private Counter droppedSubscribers;
+
+    private ScheduledExecutorService dispatchExecutor;
+
+    private ExecutorService senderExecutor;
+
+    private volatile long lastDispatchedId;
+
+    private Instant nextPruneAt = Instant.now();
+
+    public EventDispatcher(OutboxEventRepository outboxEventRepository, EventProperties eventProperties, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventProperties = eventProperties;
+        Gauge.builder("events.subscribers", subscribers, List::size)
+                .description("Open GET /events streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("events.subscribers.dropped")
+                .description("Streams closed because their buffer overflowed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        lastDispatchedId = PrimaryRoute.call(outboxEventRepository::findMaxId).orElse(0L);
+        dispatchExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-dispatcher-"));
+        senderExecutor = Executors.newFixedThreadPool(eventProperties.getSenderThreads(), new CustomizableThreadFactory("event-sender-"));
+        long pollInterval = eventProperties.getPollInterval().toMillis();
+        dispatchExecutor.scheduleWithFixedDelay(this::dispatch, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatchExecutor.shutdownNow();
+        senderExecutor.shutdownNow();
+        subscribers.forEach(EventSubscriber::close);
+        subscribers.clear();
+    }
+
+    public EventStreamEmitter subscribe(Long lastEventId) {
+        EventStreamEmitter emitter = new EventStreamEmitter(eventProperties.getTimeout().toMillis());
+        EventSubscriber subscriber = new EventSubscriber(emitter, eventProperties.getBufferSize(),
+                lastEventId == null ? lastDispatchedId : lastEventId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(exception -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    void dispatch() {
+        try {
+            PrimaryRoute.run(() -> {
+                while (dispatchBatch()) {
+                    // keep going while the outbox returns full batches
+                }
+                prune();
+            });
+        } catch (RuntimeException exception) {
+            LOG.warn("Event dispatch failed, retrying on next poll", exception);
+        }
+    }
+
+    private boolean dispatchBatch() {
+        int batchSize = eventProperties.getBatchSize();
+        List<OutboxEvent> fetchedEvents = outboxEventRepository.findAllByIdGreaterThanOrderByIdAsc(lastDispatchedId, PageRequest.of(0, batchSize));
+        List<OutboxEvent> events = untilGap(fetchedEvents);
+        for (EventSubscriber subscriber : subscribers) {
+            if (subscriber.isClosed()) {
+                subscribers.remove(subscriber);
+                continue;
+            }
+            if (subscriber.getCursor() < lastDispatchedId) {
+                catchUp(subscriber);
+            }
+            if (subscriber.getCursor() >= lastDispatchedId && !subscriber.offer(events)) {
+                droppedSubscribers.increment();
+                subscriber.close();
+                subscribers.remove(subscriber);
+                continue;
+            }
+            if (subscriber.hasPendingEvents()) {
+                senderExecutor.execute(() -> subscriber.drain(batchSize));
+            }
+        }
+        if (!events.isEmpty()) {
+            lastDispatchedId = events.get(events.size() - 1).getId();
+        }
+        return fetchedEvents.size() == batchSize && events.size() == batchSize;
+    }
+
+    // identity values are taken at insert time, so a lower id can still commit after a higher one has been read
+    private List<OutboxEvent> untilGap(List<OutboxEvent> events) {
+        long expectedId = lastDispatchedId + 1;
+        Instant gapDeadline = Instant.now().minus(eventProperties.getGapTimeout());
+        for (int index = 0; index < events.size(); index++) {
+            OutboxEvent event = events.get(index);
+            if (event.getId() != expectedId && event.getCreatedAt().isAfter(gapDeadline)) {
+                return events.subList(0, index);
+            }
+            expectedId = event.getId() + 1;
+        }
+        return events;
+    }
+
+    private void catchUp(EventSubscriber subscriber) {
+        int capacity = Math.min(subscriber.remainingCapacity(), eventProperties.getBatchSize());
+        if (capacity == 0) {
+            return;
+        }
+        List<OutboxEvent> missedEvents = outboxEventRepository.findAllByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                subscriber.getCursor(), lastDispatchedId, PageRequest.of(0, capacity));
+        subscriber.offer(missedEvents);
+        if (missedEvents.size() < capacity) {
+            subscriber.advanceTo(lastDispatchedId);
+        }
+    }
+
+    private void prune() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextPruneAt)) {
+            return;
+        }
+        outboxEventRepository.deleteDispatchedBefore(now.minus(eventProperties.getRetention()), lastDispatchedId);
+        nextPruneAt = now.plus(PRUNE_INTERVAL);
+    }
+}
@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.entity.OutboxEvent;
+import com.thoughtworks.springbootemployee.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class EventOutbox {
+    public static final String EMPLOYEE = "employee";
+    public static final String COMPANY = "company";
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private OutboxEventRepository outboxEventRepository;
+
+    private ObjectMapper objectMapper;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeChanged(String change, Employee employee) {
+        append(EMPLOYEE, employee.getId(), change, employee);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesDeleted(Collection<Integer> employeeIds) {
+        employeeIds.stream().filter(Objects::nonNull).distinct()
+                .forEach(employeeId -> append(EMPLOYEE, employeeId, DELETED, Collections.singletonMap("id", employeeId)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void companyChanged(String change, Company company) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", company.getId());
+        payload.put("companyName", company.getCompanyName());
+        append(COMPANY, company.getId(), change, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void companyDeleted(Integer companyId) {
+        append(COMPANY, companyId, DELETED, Collections.singletonMap("id", companyId));
+    }
+
+    private void append(String aggregateType, Integer aggregateId, String change, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, aggregateType + "." + change,
+                    objectMapper.writeValueAsString(payload), Instant.now()));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
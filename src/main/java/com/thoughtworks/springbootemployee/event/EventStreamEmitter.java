@@ -0,0 +1,39 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.thoughtworks.springbootemployee.entity.OutboxEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class EventStreamEmitter extends ResponseBodyEmitter {
+    private static final MediaType TEXT_PLAIN = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    public EventStreamEmitter(Long timeout) {
+        super(timeout);
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+        }
+    }
+
+    // SseEmitter writes and flushes every field separately, so a batch is rendered into one write here
+    public void sendBatch(List<OutboxEvent> events) throws IOException {
+        StringBuilder frames = new StringBuilder();
+        for (OutboxEvent event : events) {
+            frames.append("id:").append(event.getId()).append('\n')
+                    .append("event:").append(event.getEventType()).append('\n')
+                    .append("data:").append(event.getPayload()).append("\n\n");
+        }
+        send(frames.toString(), TEXT_PLAIN);
+    }
+}
@@ -0,0 +1,81 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.thoughtworks.springbootemployee.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+class EventSubscriber {
+    private final EventStreamEmitter emitter;
+    private final BlockingQueue<OutboxEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private long cursor;
+
+    EventSubscriber(EventStreamEmitter emitter, int bufferSize, long cursor) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.cursor = cursor;
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    void advanceTo(long eventId) {
+        cursor = Math.max(cursor, eventId);
+    }
+
+    int remainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+
+    boolean hasPendingEvents() {
+        return !buffer.isEmpty();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean offer(List<OutboxEvent> events) {
+        List<OutboxEvent> newEvents = events.stream()
+                .filter(event -> event.getId() > cursor)
+                .collect(Collectors.toList());
+        if (newEvents.size() > buffer.remainingCapacity()) {
+            return false;
+        }
+        buffer.addAll(newEvents);
+        if (!newEvents.isEmpty()) {
+            cursor = newEvents.get(newEvents.size() - 1).getId();
+        }
+        return true;
+    }
+
+    void drain(int batchSize) {
+        while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                List<OutboxEvent> batch = new ArrayList<>(batchSize);
+                while (!closed && buffer.drainTo(batch, batchSize) > 0) {
+                    emitter.sendBatch(batch);
+                    batch.clear();
+                }
+            } catch (IOException | IllegalStateException exception) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+        emitter.complete();
+    }
+}
@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class EmployeeVersionConflictException extends RuntimeException {
+
+    @Override
+    public String getMessage() {
+        return "Employee was modified by another request";
+    }
+}
@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidPaginationException extends RuntimeException {
+    @Override
+    public String getMessage() {
+        return "Invalid pagination cursor or limit";
+    }
+}
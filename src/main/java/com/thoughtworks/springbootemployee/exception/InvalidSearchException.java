@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidSearchException extends RuntimeException {
+    @Override
+    public String getMessage() {
+        return "Invalid search sort or page";
+    }
+}
@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidStatisticsGroupException extends RuntimeException {
+    @Override
+    public String getMessage() {
+        return "Invalid statistics group, expected one of none, gender, company, age";
+    }
+}
@@ -5,7 +5,7 @@ import com.thoughtworks.springbootemployee.entity.Company;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
 import com.thoughtworks.springbootemployee.entity.Employee;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.repository.CompanySummary;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -16,19 +16,36 @@ import java.util.stream.Collectors;
 public class CompanyMapper {
     public Company toEntity(CompanyRequest companyRequest){
         Company company = new Company();
-        BeanUtils.copyProperties(companyRequest, company);
+        company.setCompanyName(companyRequest.getCompanyName());
+        company.setEmployees(companyRequest.getEmployees());
 
         return company;
     }
 
     public CompanyResponse toResponse(Company company){
         CompanyResponse companyResponse = new CompanyResponse();
-        BeanUtils.copyProperties(company, companyResponse);
+        companyResponse.setCompanyName(company.getCompanyName());
+        companyResponse.setEmployees(company.getEmployees());
         companyResponse.setEmployeeNumber(company.getEmployees().size());
         return companyResponse;
     }
 
     public List<CompanyResponse> toResponse(List<Company> companies){
-        return companies.stream().map(this::toResponse).collect(Collectors.toList());
+        List<CompanyResponse> companyResponses = new ArrayList<>(companies.size());
+        for (Company company : companies) {
+            companyResponses.add(toResponse(company));
+        }
+        return companyResponses;
+    }
+
+    public CompanyResponse toResponse(CompanySummary companySummary){
+        CompanyResponse companyResponse = new CompanyResponse();
+        companyResponse.setCompanyName(companySummary.getCompanyName());
+        companyResponse.setEmployeeNumber(companySummary.getEmployeeNumber().intValue());
+        return companyResponse;
+    }
+
+    public List<CompanyResponse> toSummaryResponse(List<CompanySummary> companySummaries){
+        return companySummaries.stream().map(this::toResponse).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,56 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.exception.InvalidPaginationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Component
+public class CursorMapper {
+    public static final int MAX_LIMIT = 1000;
+    private static final String ID_PREFIX = "id:";
+    private static final String CHANGE_PREFIX = "seq:";
+
+    public String toCursor(Integer id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    public Integer toId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.valueOf(decode(cursor, ID_PREFIX));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidPaginationException();
+        }
+    }
+
+    public String toChangeToken(long changeSequence) {
+        return encode(CHANGE_PREFIX + changeSequence);
+    }
+
+    public long toChangeSequence(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(token, CHANGE_PREFIX));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidPaginationException();
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String token, String prefix) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(prefix)) {
+            throw new InvalidPaginationException();
+        }
+        return decoded.substring(prefix.length());
+    }
+}
@@ -0,0 +1,54 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+public class ETagMapper {
+    private static final String WEAK_PREFIX = "W/";
+
+    public String toETag(int version){
+        return "\"" + version + "\"";
+    }
+
+    // weak, so Tomcat still gzips it, and per representation, since JSON, CBOR and Smile bodies differ byte for byte
+    public String toETag(int version, MediaType representation){
+        return WEAK_PREFIX + "\"" + version + "-" + representation.getSubtype() + "\"";
+    }
+
+    public boolean matches(String ifNoneMatch, int version){
+        return matches(ifNoneMatch, toETag(version));
+    }
+
+    public boolean matches(String ifNoneMatch, String eTag){
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaqueTag = withoutWeakPrefix(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = withoutWeakPrefix(candidate.trim());
+            if (trimmed.equals("*") || trimmed.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String withoutWeakPrefix(String eTag){
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+
+    public Optional<Integer> toVersion(String eTag){
+        String trimmed = eTag.trim();
+        if (trimmed.length() < 3 || !trimmed.startsWith("\"") || !trimmed.endsWith("\"")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(trimmed.substring(1, trimmed.length() - 1)));
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+}
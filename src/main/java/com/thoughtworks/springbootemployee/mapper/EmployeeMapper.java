@@ -1,32 +1,41 @@
 package com.thoughtworks.springbootemployee.mapper;
 
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchUpdateRequest;
 import com.thoughtworks.springbootemployee.entity.Employee;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class EmployeeMapper {
     public Employee toEntity(EmployeeRequest employeeRequest){
         Employee employee = new Employee();
-        BeanUtils.copyProperties(employeeRequest, employee);
+        employee.setName(employeeRequest.getName());
+        employee.setAge(employeeRequest.getAge());
+        employee.setGender(employeeRequest.getGender());
+        employee.setSalary(employeeRequest.getSalary());
+        employee.setCompanyId(employeeRequest.getCompanyId());
 
         return employee;
     }
 
-    public EmployeeResponse toResponse(Employee employee){
-        EmployeeResponse employeeResponse = new EmployeeResponse();
-        BeanUtils.copyProperties(employee, employeeResponse);
+    public Employee toEntity(EmployeeBatchUpdateRequest employeeRequest){
+        return new Employee(employeeRequest.getId(), employeeRequest.getName(), employeeRequest.getAge(),
+                employeeRequest.getGender(), employeeRequest.getSalary(), employeeRequest.getCompanyId());
+    }
 
-        return employeeResponse;
+    public EmployeeResponse toResponse(Employee employee){
+        return new EmployeeResponse(employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary());
     }
 
     public List<EmployeeResponse> toResponse(List<Employee> employees){
-        return employees.stream().map(this::toResponse).collect(Collectors.toList());
+        List<EmployeeResponse> employeeResponses = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employeeResponses.add(toResponse(employee));
+        }
+        return employeeResponses;
     }
 }
@@ -0,0 +1,75 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.ageAtLeast;
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.ageAtMost;
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.hasGender;
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.inCompany;
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.salaryAtLeast;
+import static com.thoughtworks.springbootemployee.repository.EmployeeSpecifications.salaryAtMost;
+
+@Component
+public class EmployeeSearchMapper {
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final List<String> SORTABLE_PROPERTIES = Arrays.asList("id", "name", "age", "gender", "salary", "companyId");
+
+    public Specification<Employee> toSpecification(EmployeeSearchRequest searchRequest){
+        return Specification.where(hasGender(searchRequest.getGender()))
+                .and(ageAtLeast(searchRequest.getMinAge()))
+                .and(ageAtMost(searchRequest.getMaxAge()))
+                .and(salaryAtLeast(searchRequest.getMinSalary()))
+                .and(salaryAtMost(searchRequest.getMaxSalary()))
+                .and(inCompany(searchRequest.getCompanyId()));
+    }
+
+    public Pageable toPageable(EmployeeSearchRequest searchRequest){
+        Integer pageIndex = searchRequest.getPageIndex();
+        Integer pageSize = searchRequest.getPageSize();
+        if (pageIndex == null || pageIndex < 1 || pageSize == null || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidSearchException();
+        }
+        if ((long) (pageIndex - 1) * pageSize > Integer.MAX_VALUE) {
+            throw new InvalidSearchException();
+        }
+        return PageRequest.of(pageIndex - 1, pageSize, toSort(searchRequest.getSort()));
+    }
+
+    private Sort toSort(List<String> sortParameters){
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean directionAllowed = false;
+        for (String parameter : sortParameters) {
+            for (String token : parameter.split(",")) {
+                String trimmed = token.trim();
+                if (trimmed.equalsIgnoreCase("asc") || trimmed.equalsIgnoreCase("desc")) {
+                    if (!directionAllowed) {
+                        throw new InvalidSearchException();
+                    }
+                    Sort.Order order = orders.remove(orders.size() - 1);
+                    orders.add(order.with(Sort.Direction.fromString(trimmed)));
+                    directionAllowed = false;
+                } else if (SORTABLE_PROPERTIES.contains(trimmed)) {
+                    orders.add(Sort.Order.asc(trimmed));
+                    directionAllowed = true;
+                } else {
+                    throw new InvalidSearchException();
+                }
+            }
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals("id"))) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(orders);
+    }
+}
@@ -0,0 +1,33 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.SalaryStatisticsResponse;
+import com.thoughtworks.springbootemployee.repository.SalaryStatistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class SalaryStatisticsMapper {
+    public SalaryStatisticsResponse toResponse(SalaryStatistics salaryStatistics){
+        SalaryStatisticsResponse salaryStatisticsResponse = new SalaryStatisticsResponse();
+        salaryStatisticsResponse.setGroupKey(salaryStatistics.getGroupKey());
+        salaryStatisticsResponse.setCount(salaryStatistics.getCount());
+        salaryStatisticsResponse.setSum(salaryStatistics.getSum());
+        salaryStatisticsResponse.setMin(salaryStatistics.getMin());
+        salaryStatisticsResponse.setMax(salaryStatistics.getMax());
+        salaryStatisticsResponse.setAvg(salaryStatistics.getAvg());
+        salaryStatisticsResponse.setP50(salaryStatistics.getP50());
+        salaryStatisticsResponse.setP90(salaryStatistics.getP90());
+        salaryStatisticsResponse.setP99(salaryStatistics.getP99());
+        return salaryStatisticsResponse;
+    }
+
+    public List<SalaryStatisticsResponse> toResponse(List<SalaryStatistics> salaryStatistics){
+        List<SalaryStatisticsResponse> salaryStatisticsResponses = new ArrayList<>(salaryStatistics.size());
+        for (SalaryStatistics statistics : salaryStatistics) {
+            salaryStatisticsResponses.add(toResponse(statistics));
+        }
+        return salaryStatisticsResponses;
+    }
+}
@@ -0,0 +1,60 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "jpa.queries";
+    private static final String CONTEXT_ATTRIBUTE = QueryCountFilter.class.getName() + ".CONTEXT";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryContext context = (RequestQueryContext) request.getAttribute(CONTEXT_ATTRIBUTE);
+        if (context == null) {
+            context = new RequestQueryContext();
+            request.setAttribute(CONTEXT_ATTRIBUTE, context);
+        }
+        RequestQueryContext.attach(context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryContext.detach();
+            if (!isAsyncStarted(request)) {
+                record(request, context.getStatementCount());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int queryCount) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("JPA statements issued while serving a request")
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .tag("method", request.getMethod())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(queryCount);
+    }
+}
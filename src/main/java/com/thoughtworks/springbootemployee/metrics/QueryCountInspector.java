@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryContext.countStatement();
+        return sql;
+    }
+}
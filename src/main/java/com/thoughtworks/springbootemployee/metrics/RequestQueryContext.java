@@ -0,0 +1,61 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class RequestQueryContext {
+    private static final ThreadLocal<RequestQueryContext> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private volatile String handler;
+
+    public static RequestQueryContext current() {
+        return CURRENT.get();
+    }
+
+    public static void attach(RequestQueryContext context) {
+        CURRENT.set(context);
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    public static void countStatement() {
+        RequestQueryContext context = CURRENT.get();
+        if (context != null) {
+            context.statementCount.incrementAndGet();
+        }
+    }
+
+    public static Runnable propagate(Runnable task) {
+        RequestQueryContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public void setHandler(String handler) {
+        this.handler = handler;
+    }
+}
@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StatementStatistics {
+    private final String sql;
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder totalTimeMillis = new LongAdder();
+    private final AtomicLong maxTimeMillis = new AtomicLong();
+    private final LongAdder rowCount = new LongAdder();
+
+    public StatementStatistics(String sql) {
+        this.sql = sql;
+    }
+
+    public void record(long elapsedMillis, long rows) {
+        executionCount.increment();
+        totalTimeMillis.add(elapsedMillis);
+        maxTimeMillis.accumulateAndGet(elapsedMillis, Math::max);
+        if (rows > 0) {
+            rowCount.add(rows);
+        }
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    public long getTotalTimeMillis() {
+        return totalTimeMillis.sum();
+    }
+
+    public long getMaxTimeMillis() {
+        return maxTimeMillis.get();
+    }
+
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+}
@@ -0,0 +1,116 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import com.thoughtworks.springbootemployee.config.QueryLogProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+@Component
+public class StatementStatisticsListener implements QueryExecutionListener {
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("com.thoughtworks.springbootemployee.SLOW_QUERY");
+
+    private final QueryLogProperties queryLogProperties;
+
+    private final ConcurrentMap<String, StatementStatistics> statistics = new ConcurrentHashMap<>();
+
+    public StatementStatisticsListener(QueryLogProperties queryLogProperties) {
+        this.queryLogProperties = queryLogProperties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfos) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfos) {
+        long elapsedMillis = executionInfo.getElapsedTime();
+        long rows = rowCountOf(executionInfo.getResult());
+        for (QueryInfo queryInfo : queryInfos) {
+            statisticsOf(queryInfo.getQuery()).record(elapsedMillis, rows);
+        }
+        if (elapsedMillis >= queryLogProperties.getSlowThreshold().toMillis()) {
+            RequestQueryContext context = RequestQueryContext.current();
+            String handler = context == null || context.getHandler() == null ? "unknown handler" : context.getHandler();
+            for (QueryInfo queryInfo : queryInfos) {
+                // bind values carry names and salaries, so they are only logged when explicitly enabled
+                if (queryLogProperties.isLogParameters()) {
+                    SLOW_QUERY_LOG.warn("Slow query took {} ms in {}: {} parameters={}", elapsedMillis, handler,
+                            queryInfo.getQuery(), formatParameters(queryInfo.getParametersList()));
+                } else {
+                    SLOW_QUERY_LOG.warn("Slow query took {} ms in {}: {}", elapsedMillis, handler, queryInfo.getQuery());
+                }
+            }
+        }
+    }
+
+    public List<StatementStatistics> getSlowest(int limit) {
+        return top(Comparator.comparingLong(StatementStatistics::getMaxTimeMillis), limit);
+    }
+
+    public List<StatementStatistics> getMostFrequent(int limit) {
+        return top(Comparator.comparingLong(StatementStatistics::getExecutionCount), limit);
+    }
+
+    private List<StatementStatistics> top(Comparator<StatementStatistics> comparator, int limit) {
+        return statistics.values().stream()
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private StatementStatistics statisticsOf(String sql) {
+        StatementStatistics statementStatistics = statistics.get(sql);
+        if (statementStatistics != null) {
+            return statementStatistics;
+        }
+        if (statistics.size() >= queryLogProperties.getMaxStatements()) {
+            return new StatementStatistics(sql);
+        }
+        return statistics.computeIfAbsent(sql, StatementStatistics::new);
+    }
+
+    private static long rowCountOf(Object result) {
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof int[]) {
+            long rows = 0;
+            for (int updateCount : (int[]) result) {
+                rows += Math.max(updateCount, 0);
+            }
+            return rows;
+        }
+        return -1;
+    }
+
+    private static List<List<Object>> formatParameters(List<List<ParameterSetOperation>> parametersList) {
+        return parametersList.stream()
+                .map(parameters -> parameters.stream()
+                        .sorted(Comparator.comparingInt(StatementStatisticsListener::parameterIndexOf))
+                        .map(StatementStatisticsListener::parameterValueOf)
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static int parameterIndexOf(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Integer ? (Integer) index : Integer.MAX_VALUE;
+    }
+
+    private static Object parameterValueOf(ParameterSetOperation operation) {
+        if ("setNull".equals(operation.getMethod().getName()) || operation.getArgs().length < 2) {
+            return null;
+        }
+        return operation.getArgs()[1];
+    }
+}
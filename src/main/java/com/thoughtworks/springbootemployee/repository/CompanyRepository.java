@@ -1,9 +1,77 @@
 package com.thoughtworks.springbootemployee.repository;
 
 import com.thoughtworks.springbootemployee.entity.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Integer> {
+
+    @Query("select c.id as id, c.companyName as companyName, count(e.id) as employeeNumber " +
+            "from Company c left join c.employees e group by c.id, c.companyName order by c.id")
+    List<CompanySummary> findAllSummaries();
+
+    @Query("select c.id as id, c.companyName as companyName, count(e.id) as employeeNumber " +
+            "from Company c left join c.employees e group by c.id, c.companyName order by c.id")
+    List<CompanySummary> findAllSummaries(Pageable pageable);
+
+    @Query("select c.id as id, c.companyName as companyName, count(e.id) as employeeNumber " +
+            "from Company c left join c.employees e where c.id > :companyId " +
+            "group by c.id, c.companyName order by c.id")
+    List<CompanySummary> findAllSummariesAfter(@Param("companyId") Integer companyId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "employees")
+    @Query("select c from Company c where c.id = :companyId")
+    Optional<Company> findWithEmployeesById(@Param("companyId") Integer companyId);
+
+    @Query("select c.id from Company c order by c.id")
+    List<Integer> findIds(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct c from Company c left join fetch c.employees where c.id in :companyIds order by c.id")
+    List<Company> findAllWithEmployeesByIdIn(@Param("companyIds") Collection<Integer> companyIds);
+
+    @Query("select c.version from Company c where c.id = :companyId")
+    Optional<Integer> findVersionById(@Param("companyId") Integer companyId);
+
+    @Modifying
+    @Transactional
+    @Query("update Company c set c.version = c.version + 1 where c.id in :companyIds")
+    int incrementVersions(@Param("companyIds") Collection<Integer> companyIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "MERGE INTO tombstone(entity_type, entity_id, change_seq) KEY(entity_type, entity_id) " +
+            "SELECT 'company', id, NEXT VALUE FOR change_seq FROM company WHERE id = :companyId", nativeQuery = true)
+    int recordTombstone(@Param("companyId") Integer companyId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "MERGE INTO tombstone(entity_type, entity_id, change_seq) KEY(entity_type, entity_id) " +
+            "SELECT 'employee', id, NEXT VALUE FOR change_seq FROM employee WHERE company_id = :companyId", nativeQuery = true)
+    int recordEmployeeTombstones(@Param("companyId") Integer companyId);
+
+    default void touchAll(Collection<Integer> companyIds) {
+        List<Integer> existingIds = companyIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (!existingIds.isEmpty()) {
+            incrementVersions(existingIds);
+        }
+    }
+
 }
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface CompanySummary {
+
+    Integer getId();
+
+    String getCompanyName();
+
+    Long getEmployeeNumber();
+
+}
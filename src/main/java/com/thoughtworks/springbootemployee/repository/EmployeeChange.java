@@ -0,0 +1,19 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface EmployeeChange {
+
+    Integer getId();
+
+    String getName();
+
+    Integer getAge();
+
+    String getGender();
+
+    Integer getSalary();
+
+    Integer getCompanyId();
+
+    Long getChangeSeq();
+
+}
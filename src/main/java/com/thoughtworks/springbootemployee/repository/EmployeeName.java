@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface EmployeeName {
+
+    Integer getId();
+
+    String getName();
+
+}
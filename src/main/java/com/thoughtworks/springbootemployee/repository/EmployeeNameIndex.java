@@ -0,0 +1,164 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Repository
+public class EmployeeNameIndex {
+    static final double EXACT_SCORE = 3.0;
+    static final double PREFIX_SCORE = 2.0;
+    static final double MIN_SIMILARITY = 0.4;
+
+    private final ConcurrentMap<Integer, List<String>> documentTerms = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<Integer>> termPostings = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Set<String>> trigramTerms = new ConcurrentHashMap<>();
+
+    public synchronized void index(Integer employeeId, String name) {
+        if (employeeId == null) {
+            return;
+        }
+        remove(employeeId);
+        List<String> terms = tokenize(name);
+        if (terms.isEmpty()) {
+            return;
+        }
+        documentTerms.put(employeeId, terms);
+        for (String term : terms) {
+            termPostings.computeIfAbsent(term, key -> {
+                trigramsOf(key).forEach(trigram -> trigramTerms.computeIfAbsent(trigram, ignored -> new ConcurrentSkipListSet<>()).add(key));
+                return new ConcurrentSkipListSet<>();
+            }).add(employeeId);
+        }
+    }
+
+    public synchronized void remove(Integer employeeId) {
+        List<String> terms = employeeId == null ? null : documentTerms.remove(employeeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            termPostings.computeIfPresent(term, (key, employeeIds) -> {
+                employeeIds.remove(employeeId);
+                if (!employeeIds.isEmpty()) {
+                    return employeeIds;
+                }
+                trigramsOf(key).forEach(trigram -> trigramTerms.computeIfPresent(trigram, (ignored, trigramTermSet) -> {
+                    trigramTermSet.remove(key);
+                    return trigramTermSet.isEmpty() ? null : trigramTermSet;
+                }));
+                return null;
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        documentTerms.clear();
+        termPostings.clear();
+        trigramTerms.clear();
+    }
+
+    public int size() {
+        return documentTerms.size();
+    }
+
+    public List<Integer> search(String query, int offset, int limit) {
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String queryTerm : new LinkedHashSet<>(tokenize(query))) {
+            Map<Integer, Double> termScores = new HashMap<>();
+            termPostings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).forEach((term, employeeIds) -> {
+                double score = term.equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE + (double) queryTerm.length() / term.length();
+                employeeIds.forEach(employeeId -> termScores.merge(employeeId, score, Math::max));
+            });
+            similarTerms(queryTerm).forEach((term, similarity) -> {
+                Set<Integer> employeeIds = termPostings.getOrDefault(term, Collections.emptySet());
+                employeeIds.forEach(employeeId -> termScores.merge(employeeId, similarity, Math::max));
+            });
+            termScores.forEach((employeeId, score) -> scores.merge(employeeId, score, Double::sum));
+        }
+        if (offset >= scores.size() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int capacity = (int) Math.min((long) offset + limit, scores.size());
+        Comparator<Map.Entry<Integer, Double>> ranking = Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey());
+        // keeps only the best offset + limit matches, with the worst of them at the head ready to be evicted
+        PriorityQueue<Map.Entry<Integer, Double>> topMatches = new PriorityQueue<>(capacity + 1, ranking.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            topMatches.offer(entry);
+            if (topMatches.size() > capacity) {
+                topMatches.poll();
+            }
+        }
+        List<Integer> rankedIds = new ArrayList<>(capacity);
+        while (!topMatches.isEmpty()) {
+            rankedIds.add(topMatches.poll().getKey());
+        }
+        Collections.reverse(rankedIds);
+        return rankedIds.subList(offset, rankedIds.size());
+    }
+
+    private Map<String, Double> similarTerms(String queryTerm) {
+        Set<String> queryTrigrams = trigramsOf(queryTerm);
+        int minShared = (int) Math.ceil(MIN_SIMILARITY * (queryTrigrams.size() + 1) / 2);
+        List<String> probeTrigrams = queryTrigrams.stream()
+                .sorted(Comparator.comparingInt(trigram -> trigramTerms.getOrDefault(trigram, Collections.emptySet()).size()))
+                .limit(Math.max(1, queryTrigrams.size() - minShared + 1))
+                .collect(Collectors.toList());
+        Map<String, Double> similarities = new HashMap<>();
+        Set<String> visitedTerms = new HashSet<>();
+        for (String trigram : probeTrigrams) {
+            for (String term : trigramTerms.getOrDefault(trigram, Collections.emptySet())) {
+                if (!visitedTerms.add(term) || term.startsWith(queryTerm)) {
+                    continue;
+                }
+                double similarity = similarity(queryTrigrams, trigramsOf(term));
+                if (similarity >= MIN_SIMILARITY) {
+                    similarities.put(term, similarity);
+                }
+            }
+        }
+        return similarities;
+    }
+
+    private static double similarity(Set<String> queryTrigrams, Set<String> termTrigrams) {
+        long shared = queryTrigrams.stream().filter(termTrigrams::contains).count();
+        return 2.0 * shared / (queryTrigrams.size() + termTrigrams.size());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    static Set<String> trigramsOf(String term) {
+        String padded = "  " + term + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int index = 0; index + 3 <= padded.length(); index++) {
+            trigrams.add(padded.substring(index, index + 3));
+        }
+        return trigrams;
+    }
+}
@@ -1,16 +1,108 @@
 package com.thoughtworks.springbootemployee.repository;
 
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, EmployeeUpdateRepository, EmployeeSearchRepository {
+    String SALARY_AGGREGATES = "COUNT(*) AS \"count\", SUM(salary) AS \"sum\", " +
+            "MIN(salary) AS \"min\", MAX(salary) AS \"max\", AVG(CAST(salary AS DOUBLE)) AS \"avg\", " +
+            "PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY salary) AS \"p50\", " +
+            "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY salary) AS \"p90\", " +
+            "PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY salary) AS \"p99\"";
+    String AGE_BUCKETS = "(SELECT age / 10 * 10 AS bucket, salary, company_id FROM employee)";
+    String EMPLOYEE_RESPONSE = "select new com.thoughtworks.springbootemployee.dto.EmployeeResponse(" +
+            "e.name, e.age, e.gender, e.salary) from Employee e";
+
+    @Query(EMPLOYEE_RESPONSE + " order by e.id")
+    List<EmployeeResponse> findAllResponses();
+
+    @Query(EMPLOYEE_RESPONSE + " order by e.id")
+    List<EmployeeResponse> findResponses(Pageable pageable);
+
+    @Query(EMPLOYEE_RESPONSE + " where e.gender = :gender")
+    List<EmployeeResponse> findResponsesByGender(@Param("gender") String gender);
+
+    @Query(EMPLOYEE_RESPONSE + " where e.age between :minAge and :maxAge")
+    List<EmployeeResponse> findResponsesByAgeBetween(@Param("minAge") Integer minAge, @Param("maxAge") Integer maxAge);
+
+    List<Employee> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    @Query("select e.id as id, e.name as name from Employee e")
+    List<EmployeeName> findAllNames();
+
+    @Query(value = "SELECT id AS \"id\", name AS \"name\", age AS \"age\", gender AS \"gender\", salary AS \"salary\", " +
+            "company_id AS \"companyId\", change_seq AS \"changeSeq\" FROM employee " +
+            "WHERE change_seq > :changeSeq ORDER BY change_seq LIMIT :limit", nativeQuery = true)
+    List<EmployeeChange> findChangesSince(@Param("changeSeq") long changeSeq, @Param("limit") int limit);
+
+    @Query(value = "SELECT entity_id AS \"id\", change_seq AS \"changeSeq\" FROM tombstone " +
+            "WHERE entity_type = 'employee' AND change_seq > :changeSeq ORDER BY change_seq LIMIT :limit", nativeQuery = true)
+    List<Tombstone> findTombstonesSince(@Param("changeSeq") long changeSeq, @Param("limit") int limit);
+
+    // change_seq is drawn at statement time, so a transaction still in flight may hold a lower value than these rows
+    @Query(value = "SELECT MIN(change_seq) FROM (" +
+            "SELECT change_seq FROM employee WHERE change_seq > :changeSeq " +
+            "AND updated_at > DATEADD('MILLISECOND', -:settleMillis, LOCALTIMESTAMP) " +
+            "UNION ALL SELECT change_seq FROM tombstone WHERE entity_type = 'employee' AND change_seq > :changeSeq " +
+            "AND deleted_at > DATEADD('MILLISECOND', -:settleMillis, LOCALTIMESTAMP)) unsettled", nativeQuery = true)
+    Optional<Long> findOldestUnsettledChangeSeq(@Param("changeSeq") long changeSeq, @Param("settleMillis") long settleMillis);
+
+    @Modifying
+    @Transactional
+    @Query(value = "MERGE INTO tombstone(entity_type, entity_id, change_seq) KEY(entity_type, entity_id) " +
+            "SELECT 'employee', id, NEXT VALUE FOR change_seq FROM employee WHERE id IN :employeeIds", nativeQuery = true)
+    int recordTombstones(@Param("employeeIds") Collection<Integer> employeeIds);
+
+    @Query("select e.version from Employee e where e.id = :employeeId")
+    Optional<Integer> findVersionById(@Param("employeeId") Integer employeeId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    @Query(value = "SELECT 'all' AS \"groupKey\", " + SALARY_AGGREGATES + " FROM employee", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatistics();
+
+    @Query(value = "SELECT gender AS \"groupKey\", " + SALARY_AGGREGATES + " FROM employee " +
+            "GROUP BY gender ORDER BY gender", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsByGender();
+
+    @Query(value = "SELECT CAST(company_id AS VARCHAR) AS \"groupKey\", " + SALARY_AGGREGATES + " FROM employee " +
+            "GROUP BY company_id ORDER BY company_id", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsByCompany();
+
+    @Query(value = "SELECT CONCAT(bucket, '-', bucket + 9) AS \"groupKey\", " + SALARY_AGGREGATES + " FROM " + AGE_BUCKETS +
+            " GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsByAgeBucket();
+
+    @Query(value = "SELECT CAST(:companyId AS VARCHAR) AS \"groupKey\", " + SALARY_AGGREGATES + " FROM employee " +
+            "WHERE company_id = :companyId", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsOfCompany(@Param("companyId") Integer companyId);
 
-    List<Employee> findAllByGender(String gender);
+    @Query(value = "SELECT gender AS \"groupKey\", " + SALARY_AGGREGATES + " FROM employee " +
+            "WHERE company_id = :companyId GROUP BY gender ORDER BY gender", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsOfCompanyByGender(@Param("companyId") Integer companyId);
 
-    List<Employee> findAllByAgeBetween(Integer minAge, Integer maxAge);
+    @Query(value = "SELECT CONCAT(bucket, '-', bucket + 9) AS \"groupKey\", " + SALARY_AGGREGATES + " FROM " + AGE_BUCKETS +
+            " WHERE company_id = :companyId GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<SalaryStatistics> getSalaryStatisticsOfCompanyByAgeBucket(@Param("companyId") Integer companyId);
 
 }
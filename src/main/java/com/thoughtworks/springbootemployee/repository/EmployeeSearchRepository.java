@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EmployeeSearchRepository {
+
+    Slice<EmployeeResponse> findResponses(Specification<Employee> specification, Pageable pageable);
+}
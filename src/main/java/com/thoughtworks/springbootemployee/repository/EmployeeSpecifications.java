@@ -0,0 +1,35 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return gender == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> ageAtLeast(Integer minAge) {
+        return minAge == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.ge(root.<Integer>get("age"), minAge);
+    }
+
+    public static Specification<Employee> ageAtMost(Integer maxAge) {
+        return maxAge == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.le(root.<Integer>get("age"), maxAge);
+    }
+
+    public static Specification<Employee> salaryAtLeast(Integer minSalary) {
+        return minSalary == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.ge(root.<Integer>get("salary"), minSalary);
+    }
+
+    public static Specification<Employee> salaryAtMost(Integer maxSalary) {
+        return maxSalary == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.le(root.<Integer>get("salary"), maxSalary);
+    }
+
+    public static Specification<Employee> inCompany(Integer companyId) {
+        return companyId == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("companyId"), companyId);
+    }
+}
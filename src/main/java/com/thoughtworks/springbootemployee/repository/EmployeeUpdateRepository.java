@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeUpdateRepository {
+
+    Optional<Employee> updateNonNullFields(Integer employeeId, Employee employeeInfo, Integer expectedVersion);
+
+    Optional<Integer> lockCompanyIdById(Integer employeeId);
+}
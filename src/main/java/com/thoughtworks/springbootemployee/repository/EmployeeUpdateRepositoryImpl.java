@@ -0,0 +1,61 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.Employee;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeUpdateRepositoryImpl implements EmployeeUpdateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Employee> updateNonNullFields(Integer employeeId, Employee employeeInfo, Integer expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfNotNull(changes, "name", employeeInfo.getName());
+        putIfNotNull(changes, "age", employeeInfo.getAge());
+        putIfNotNull(changes, "gender", employeeInfo.getGender());
+        putIfNotNull(changes, "salary", employeeInfo.getSalary());
+        putIfNotNull(changes, "company_id", employeeInfo.getCompanyId());
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM FINAL TABLE (UPDATE employee SET ");
+        changes.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+        sql.append("version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+        }
+        sql.append(")");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Employee.class);
+        changes.forEach(query::setParameter);
+        query.setParameter("id", employeeId);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        List<Employee> updatedEmployees = query.getResultList();
+        return updatedEmployees.stream().findFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Integer> lockCompanyIdById(Integer employeeId) {
+        List<Number> companyIds = entityManager
+                .createNativeQuery("SELECT company_id FROM employee WHERE id = :id FOR UPDATE")
+                .setParameter("id", employeeId)
+                .getResultList();
+        return companyIds.stream().filter(companyId -> companyId != null).findFirst().map(Number::intValue);
+    }
+
+    private static void putIfNotNull(Map<String, Object> changes, String column, Object value) {
+        if (value != null) {
+            changes.put(column, value);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findAllByIdGreaterThanOrderByIdAsc(Long eventId, Pageable pageable);
+
+    List<OutboxEvent> findAllByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterEventId, Long upToEventId, Pageable pageable);
+
+    @Query("select max(e.id) from OutboxEvent e")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEvent e where e.createdAt < :createdAt and e.id <= :dispatchedEventId")
+    int deleteDispatchedBefore(@Param("createdAt") Instant createdAt, @Param("dispatchedEventId") Long dispatchedEventId);
+}
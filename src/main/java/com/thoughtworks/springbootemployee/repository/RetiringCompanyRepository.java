@@ -6,27 +6,135 @@ import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class RetiringCompanyRepository {
-    private List<Company> companies = new ArrayList<>();
+    private final ConcurrentMap<Integer, Company> companies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Integer> employeeCompanyIndex = new ConcurrentHashMap<>();
+    private final AtomicInteger idGenerator = new AtomicInteger();
 
     public RetiringCompanyRepository() {
-        companies.add(new Company(1,"OOCL", Arrays.asList(
-                new Employee(1,"Lara",21,"female",1000),
-                new Employee(3,"Kitz",22,"male",1000),
-                new Employee(4,"Robert",23,"male",500),
-                new Employee(5,"Kyle",24,"male",1000),
-                new Employee(6,"Angelo",25,"male",500))));
-        companies.add(new Company(2, "DPMCP", Arrays.asList(
-                new Employee(2,"Cedie",27,"male",500),
-                new Employee(7,"Jesse",25,"male",500),
-                new Employee(8,"David",25,"male",500))));
+        this(Arrays.asList(
+                new Company(1,"OOCL", Arrays.asList(
+                        new Employee(1,"Lara",21,"female",1000),
+                        new Employee(3,"Kitz",22,"male",1000),
+                        new Employee(4,"Robert",23,"male",500),
+                        new Employee(5,"Kyle",24,"male",1000),
+                        new Employee(6,"Angelo",25,"male",500))),
+                new Company(2, "DPMCP", Arrays.asList(
+                        new Employee(2,"Cedie",27,"male",500),
+                        new Employee(7,"Jesse",25,"male",500),
+                        new Employee(8,"David",25,"male",500)))));
     }
 
-    public List<Company> getCompanies(){
-        return companies;
+    public RetiringCompanyRepository(Collection<Company> initialCompanies) {
+        initialCompanies.forEach(this::save);
     }
 
+    public List<Company> findAll() {
+        return Collections.unmodifiableList(companies.values().stream()
+                .sorted(Comparator.comparing(Company::getId))
+                .map(company -> copyOf(company.getId(), company))
+                .collect(Collectors.toList()));
+    }
+
+    public Optional<Company> findById(Integer companyId) {
+        return companyId == null ? Optional.empty() : Optional.ofNullable(companies.get(companyId))
+                .map(company -> copyOf(companyId, company));
+    }
+
+    public Optional<Company> findByEmployeeId(Integer employeeId) {
+        return employeeId == null ? Optional.empty() : findById(employeeCompanyIndex.get(employeeId));
+    }
+
+    public List<Company> findPage(int offset, int limit) {
+        return companies.values().stream()
+                .sorted(Comparator.comparing(Company::getId))
+                .skip(offset)
+                .limit(limit)
+                .map(company -> copyOf(company.getId(), company))
+                .collect(Collectors.toList());
+    }
+
+    public int count() {
+        return companies.size();
+    }
+
+    public synchronized Company save(Company company) {
+        Integer companyId = company.getId() == null ? idGenerator.incrementAndGet() : company.getId();
+        idGenerator.accumulateAndGet(companyId, Math::max);
+        return replace(companyId, companies.get(companyId), company);
+    }
+
+    public synchronized Optional<Company> update(Integer companyId, Consumer<Company> changes) {
+        Company currentCompany = companyId == null ? null : companies.get(companyId);
+        if (currentCompany == null) {
+            return Optional.empty();
+        }
+        Company workingCopy = copyOf(companyId, currentCompany);
+        changes.accept(workingCopy);
+        return Optional.of(replace(companyId, currentCompany, workingCopy));
+    }
+
+    public synchronized Optional<Company> deleteById(Integer companyId) {
+        Company removedCompany = companyId == null ? null : companies.remove(companyId);
+        unindex(removedCompany);
+        return Optional.ofNullable(removedCompany).map(company -> copyOf(companyId, company));
+    }
+
+    private Company replace(Integer companyId, Company currentCompany, Company company) {
+        Company snapshot = snapshotOf(companyId, company);
+        Set<Integer> employeeIds = employeeIdsOf(snapshot);
+        employeeIds.forEach(employeeId -> employeeCompanyIndex.put(employeeId, companyId));
+        companies.put(companyId, snapshot);
+        if (currentCompany != null) {
+            employeeIdsOf(currentCompany).stream()
+                    .filter(employeeId -> !employeeIds.contains(employeeId))
+                    .forEach(employeeId -> employeeCompanyIndex.remove(employeeId, companyId));
+        }
+        return copyOf(companyId, snapshot);
+    }
+
+    private void unindex(Company company) {
+        if (company != null) {
+            employeeIdsOf(company).forEach(employeeId -> employeeCompanyIndex.remove(employeeId, company.getId()));
+        }
+    }
+
+    private static Set<Integer> employeeIdsOf(Company company) {
+        return company.getEmployees().stream()
+                .map(Employee::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // stored snapshots share no mutable state with callers, every read and write hands out a fresh copy
+    private static Company snapshotOf(Integer companyId, Company company) {
+        return new Company(companyId, company.getCompanyName(), Collections.unmodifiableList(copyOf(company.getEmployees())));
+    }
+
+    private static Company copyOf(Integer companyId, Company company) {
+        return new Company(companyId, company.getCompanyName(), copyOf(company.getEmployees()));
+    }
+
+    private static List<Employee> copyOf(List<Employee> employees) {
+        if (employees == null) {
+            return new ArrayList<>();
+        }
+        return employees.stream()
+                .map(employee -> RetiringEmployeeRepository.copyOf(employee.getId(), employee))
+                .collect(Collectors.toList());
+    }
 }
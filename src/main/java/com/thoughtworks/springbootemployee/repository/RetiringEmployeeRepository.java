@@ -3,24 +3,165 @@ package com.thoughtworks.springbootemployee.repository;
 import com.thoughtworks.springbootemployee.entity.Employee;
 import org.springframework.stereotype.Repository;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class RetiringEmployeeRepository {
-    private List<Employee> employees = new ArrayList<>();
+    private final ConcurrentNavigableMap<Integer, Employee> employees = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Set<Integer>> genderIndex = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Integer, Set<Integer>> ageIndex = new ConcurrentSkipListMap<>();
+    private final AtomicInteger idGenerator = new AtomicInteger();
 
     public RetiringEmployeeRepository() {
-        employees.add(new Employee(1,"Lara",21,"female",1000));
-        employees.add(new Employee(2,"Cedie",21,"male",500));
-        employees.add(new Employee(3,"Kitz",22,"male",1000));
-        employees.add(new Employee(4,"Robert",23,"male",500));
-        employees.add(new Employee(5,"Kyle",24,"male",1000));
-        employees.add(new Employee(6,"Angelo",25,"male",500));
+        this(Arrays.asList(
+                new Employee(1,"Lara",21,"female",1000),
+                new Employee(2,"Cedie",21,"male",500),
+                new Employee(3,"Kitz",22,"male",1000),
+                new Employee(4,"Robert",23,"male",500),
+                new Employee(5,"Kyle",24,"male",1000),
+                new Employee(6,"Angelo",25,"male",500)));
     }
 
-    public List<Employee> getEmployees() {
-        return employees;
+    public RetiringEmployeeRepository(Collection<Employee> initialEmployees) {
+        initialEmployees.forEach(this::save);
     }
 
+    public List<Employee> findAll() {
+        return Collections.unmodifiableList(copiesOf(employees.values()));
+    }
+
+    public Optional<Employee> findById(Integer employeeId) {
+        return employeeId == null ? Optional.empty() : Optional.ofNullable(employees.get(employeeId))
+                .map(employee -> copyOf(employeeId, employee));
+    }
+
+    public List<Employee> findByGender(String gender) {
+        Set<Integer> employeeIds = genderIndex.getOrDefault(gender, Collections.emptySet());
+        return copiesOf(resolve(employeeIds).stream()
+                .filter(employee -> Objects.equals(employee.getGender(), gender))
+                .collect(Collectors.toList()));
+    }
+
+    public List<Employee> findByAgeBetween(int minAge, int maxAge) {
+        if (minAge > maxAge) {
+            return Collections.emptyList();
+        }
+        return copiesOf(ageIndex.subMap(minAge, true, maxAge, true).values().stream()
+                .flatMap(employeeIds -> resolve(employeeIds).stream())
+                .filter(employee -> employee.getAge() != null && employee.getAge() >= minAge && employee.getAge() <= maxAge)
+                .collect(Collectors.toList()));
+    }
+
+    public List<Employee> findPage(int offset, int limit) {
+        return copiesOf(employees.values().stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    public int count() {
+        return employees.size();
+    }
+
+    public synchronized Employee save(Employee employee) {
+        Integer employeeId = employee.getId() == null ? idGenerator.incrementAndGet() : employee.getId();
+        idGenerator.accumulateAndGet(employeeId, Math::max);
+        Employee storedEmployee = copyOf(employeeId, employee);
+        index(storedEmployee);
+        unindexStale(employees.put(employeeId, storedEmployee), storedEmployee);
+        return copyOf(employeeId, storedEmployee);
+    }
+
+    public synchronized Optional<Employee> update(Integer employeeId, Consumer<Employee> changes) {
+        Employee currentEmployee = employeeId == null ? null : employees.get(employeeId);
+        if (currentEmployee == null) {
+            return Optional.empty();
+        }
+        Employee updatedEmployee = copyOf(employeeId, currentEmployee);
+        changes.accept(updatedEmployee);
+        // lock-free readers must never see the employee missing from both its old and new index entries
+        index(updatedEmployee);
+        employees.put(employeeId, updatedEmployee);
+        unindexStale(currentEmployee, updatedEmployee);
+        return Optional.of(copyOf(employeeId, updatedEmployee));
+    }
+
+    public synchronized Optional<Employee> deleteById(Integer employeeId) {
+        Employee removedEmployee = employeeId == null ? null : employees.remove(employeeId);
+        unindex(removedEmployee);
+        return Optional.ofNullable(removedEmployee).map(employee -> copyOf(employeeId, employee));
+    }
+
+    private List<Employee> resolve(Set<Integer> employeeIds) {
+        return employeeIds.stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void index(Employee employee) {
+        if (employee.getGender() != null) {
+            genderIndex.computeIfAbsent(employee.getGender(), gender -> new ConcurrentSkipListSet<>()).add(employee.getId());
+        }
+        if (employee.getAge() != null) {
+            ageIndex.computeIfAbsent(employee.getAge(), age -> new ConcurrentSkipListSet<>()).add(employee.getId());
+        }
+    }
+
+    private void unindex(Employee employee) {
+        if (employee == null) {
+            return;
+        }
+        if (employee.getGender() != null) {
+            removeFromIndex(genderIndex, employee.getGender(), employee.getId());
+        }
+        if (employee.getAge() != null) {
+            removeFromIndex(ageIndex, employee.getAge(), employee.getId());
+        }
+    }
+
+    private void unindexStale(Employee previousEmployee, Employee currentEmployee) {
+        if (previousEmployee == null) {
+            return;
+        }
+        if (previousEmployee.getGender() != null && !previousEmployee.getGender().equals(currentEmployee.getGender())) {
+            removeFromIndex(genderIndex, previousEmployee.getGender(), previousEmployee.getId());
+        }
+        if (previousEmployee.getAge() != null && !previousEmployee.getAge().equals(currentEmployee.getAge())) {
+            removeFromIndex(ageIndex, previousEmployee.getAge(), previousEmployee.getId());
+        }
+    }
+
+    private static <K> void removeFromIndex(ConcurrentMap<K, Set<Integer>> index, K key, Integer employeeId) {
+        index.computeIfPresent(key, (indexKey, employeeIds) -> {
+            employeeIds.remove(employeeId);
+            return employeeIds.isEmpty() ? null : employeeIds;
+        });
+    }
+
+    // stored employees are never handed out, so callers cannot change them behind the indexes
+    static Employee copyOf(Integer employeeId, Employee employee) {
+        return new Employee(employeeId, employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary(), employee.getCompanyId());
+    }
+
+    private static List<Employee> copiesOf(Collection<Employee> employees) {
+        return employees.stream()
+                .map(employee -> copyOf(employee.getId(), employee))
+                .collect(Collectors.toList());
+    }
 }
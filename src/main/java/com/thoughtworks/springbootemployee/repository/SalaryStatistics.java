@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface SalaryStatistics {
+
+    String getGroupKey();
+
+    Long getCount();
+
+    Double getSum();
+
+    Double getMin();
+
+    Double getMax();
+
+    Double getAvg();
+
+    Double getP50();
+
+    Double getP90();
+
+    Double getP99();
+
+}
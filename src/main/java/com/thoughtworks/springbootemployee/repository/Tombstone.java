@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface Tombstone {
+
+    Integer getId();
+
+    Long getChangeSeq();
+
+}
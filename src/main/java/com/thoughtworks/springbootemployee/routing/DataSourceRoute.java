@@ -0,0 +1,6 @@
+package com.thoughtworks.springbootemployee.routing;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,54 @@
+package com.thoughtworks.springbootemployee.routing;
+
+import java.util.function.Supplier;
+
+public final class PrimaryRoute {
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private PrimaryRoute() {
+    }
+
+    public static boolean isForced() {
+        return Boolean.TRUE.equals(FORCED.get());
+    }
+
+    public static void force() {
+        FORCED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        FORCED.remove();
+    }
+
+    public static <T> T call(Supplier<T> supplier) {
+        Boolean previous = FORCED.get();
+        FORCED.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static Runnable propagate(Runnable task) {
+        if (!isForced()) {
+            return task;
+        }
+        return () -> run(task);
+    }
+
+    private static void restore(Boolean previous) {
+        if (previous == null) {
+            FORCED.remove();
+        } else {
+            FORCED.set(previous);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.thoughtworks.springbootemployee.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final String ROUTED_CONNECTIONS = "datasource.routed.connections";
+
+    private final DataSource primaryDataSource;
+    private final DataSource replicaDataSource;
+    private final long retryIntervalMillis;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+    private volatile long replicaRetryAt;
+
+    public ReadWriteRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, Duration retryInterval,
+                                      MeterRegistry meterRegistry) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.retryIntervalMillis = retryInterval.toMillis();
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceRoute.PRIMARY, primaryDataSource);
+        targetDataSources.put(DataSourceRoute.REPLICA, replicaDataSource);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primaryDataSource);
+        this.primaryConnections = Counter.builder(ROUTED_CONNECTIONS).tag("route", "primary").register(meterRegistry);
+        this.replicaConnections = Counter.builder(ROUTED_CONNECTIONS).tag("route", "replica").register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because the replica was unreachable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (route() == DataSourceRoute.PRIMARY) {
+            primaryConnections.increment();
+            return primaryDataSource.getConnection();
+        }
+        try {
+            Connection connection = replicaDataSource.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException exception) {
+            replicaRetryAt = System.currentTimeMillis() + retryIntervalMillis;
+            replicaFallbacks.increment();
+            LOG.warn("Replica unavailable, routing reads to the primary for {} ms", retryIntervalMillis, exception);
+            primaryConnections.increment();
+            return primaryDataSource.getConnection();
+        }
+    }
+
+    // only reached through LazyConnectionDataSourceProxy, so the read-only flag is already bound when this runs
+    DataSourceRoute route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryRoute.isForced()
+                || System.currentTimeMillis() < replicaRetryAt) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+}
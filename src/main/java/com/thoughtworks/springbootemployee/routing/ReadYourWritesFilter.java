@@ -0,0 +1,67 @@
+package com.thoughtworks.springbootemployee.routing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "read-primary-until";
+    private static final Set<String> SAFE_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE"));
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + windowMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if (!write && !withinWindow(readPrimaryUntil(request), now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PrimaryRoute.force();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryRoute.clear();
+        }
+    }
+
+    // the cookie is client supplied, so a value beyond one window from now is ignored
+    private boolean withinWindow(long readPrimaryUntil, long now) {
+        return readPrimaryUntil > now && readPrimaryUntil <= now + windowMillis;
+    }
+
+    private static long readPrimaryUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException exception) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+@Component
+public class CacheEvictor {
+
+    private CacheManager cacheManager;
+
+    public CacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictEmployees(Collection<Integer> employeeIds) {
+        evict(CacheConfiguration.EMPLOYEES, employeeIds);
+    }
+
+    public void evictCompanies(Integer... companyIds) {
+        evictCompanies(Arrays.asList(companyIds));
+    }
+
+    public void evictCompanies(Collection<Integer> companyIds) {
+        evict(CacheConfiguration.COMPANIES, companyIds);
+    }
+
+    private void evict(String cacheName, Collection<Integer> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        ids.stream().filter(Objects::nonNull).distinct().forEach(cache::evict);
+    }
+}
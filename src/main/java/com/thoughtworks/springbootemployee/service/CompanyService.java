@@ -1,67 +1,200 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import com.thoughtworks.springbootemployee.event.EventOutbox;
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.entity.Company;
 import com.thoughtworks.springbootemployee.entity.Employee;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.CompanySummary;
+import com.thoughtworks.springbootemployee.repository.EmployeeNameIndex;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.routing.PrimaryRoute;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CompanyService {
 
     private CompanyRepository companyRepository;
 
-    public CompanyService(CompanyRepository companyRepository) {
+    private EmployeeRepository employeeRepository;
+
+    private CacheEvictor cacheEvictor;
+
+    private EmployeeNameIndex employeeNameIndex;
+
+    private EventOutbox eventOutbox;
+
+    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository, CacheEvictor cacheEvictor,
+                          EmployeeNameIndex employeeNameIndex, EventOutbox eventOutbox) {
         this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.employeeNameIndex = employeeNameIndex;
+        this.eventOutbox = eventOutbox;
     }
 
     public List<Company> getAllCompanies(){
         return companyRepository.findAll();
     }
 
-    public List<Employee> getAllEmployeesByCompanyId(Integer companyId) {
-        Company company = companyRepository.findById(companyId).orElseThrow(CompanyNotFoundException::new);
-        return company.getEmployees();
+    public List<CompanySummary> getAllCompanySummaries(){
+        return companyRepository.findAllSummaries();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.COMPANIES, key = "#companyId")
+    @Transactional(readOnly = true)
     public Company findById(Integer companyId) {
-        return companyRepository.findById(companyId)
+        // cached entries outlive replica lag, so they are loaded from the primary
+        return PrimaryRoute.call(() -> companyRepository.findWithEmployeesById(companyId))
+                .orElseThrow(CompanyNotFoundException::new);
+    }
+
+    public int findVersionById(Integer companyId) {
+        return companyRepository.findVersionById(companyId)
                 .orElseThrow(CompanyNotFoundException::new);
     }
 
-    public List<Company> getCompaniesByPagination(Integer pageIndex, Integer pageSize) {
-        return companyRepository.findAll(PageRequest.of(pageIndex-1,pageSize)).getContent();
+    public List<CompanySummary> getCompaniesByPagination(Integer pageIndex, Integer pageSize) {
+        return companyRepository.findAllSummaries(PageRequest.of(pageIndex-1,pageSize));
     }
 
+    @Transactional(readOnly = true)
+    public List<Company> getCompaniesWithEmployeesByPagination(Integer pageIndex, Integer pageSize) {
+        List<Integer> companyIds = companyRepository.findIds(PageRequest.of(pageIndex-1,pageSize));
+        if (companyIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyRepository.findAllWithEmployeesByIdIn(companyIds);
+    }
+
+    public List<CompanySummary> getCompaniesAfter(Integer companyId, Integer limit) {
+        return companyRepository.findAllSummariesAfter(companyId, PageRequest.of(0, limit));
+    }
+
+    @Transactional
     public Company addCompany(Company companyInfo) {
-        return companyRepository.save(companyInfo);
+        Company company = companyRepository.save(companyInfo);
+        eventOutbox.companyChanged(EventOutbox.CREATED, company);
+        if (company.getEmployees() != null) {
+            company.getEmployees().forEach(employee -> eventOutbox.employeeChanged(EventOutbox.CREATED, employee));
+        }
+        indexEmployeeNames(company);
+        return company;
     }
 
+    @Transactional
     public Company updateCompany(Integer companyId, Company companyInfo) {
+        Map<Integer, Employee> existingEmployees = findExistingEmployees(companyInfo);
+        List<Integer> previousCompanyIds = existingEmployees.values().stream().map(Employee::getCompanyId)
+                .filter(previousCompanyId -> !companyId.equals(previousCompanyId)).collect(Collectors.toList());
         Company company = companyRepository.findById(companyId)
-                .map(oldCompany -> updateCompanyInfo(oldCompany,companyInfo)).
+                .map(oldCompany -> updateCompanyInfo(oldCompany,companyInfo,existingEmployees)).
                 orElseThrow(CompanyNotFoundException::new);
-        return companyRepository.save(company);
+        Company updatedCompany = companyRepository.save(company);
+        Hibernate.initialize(updatedCompany.getEmployees());
+        companyRepository.touchAll(previousCompanyIds);
+        eventOutbox.companyChanged(EventOutbox.UPDATED, updatedCompany);
+        if (companyInfo.getEmployees() != null) {
+            updatedCompany.getEmployees().forEach(employee -> eventOutbox.employeeChanged(
+                    existingEmployees.containsKey(employee.getId()) ? EventOutbox.UPDATED : EventOutbox.CREATED, employee));
+        }
+        List<Integer> evictedEmployeeIds = new ArrayList<>(existingEmployees.keySet());
+        afterCommit(() -> {
+            cacheEvictor.evictCompanies(companyId);
+            cacheEvictor.evictCompanies(previousCompanyIds);
+            cacheEvictor.evictEmployees(evictedEmployeeIds);
+        });
+        indexEmployeeNames(updatedCompany);
+        return updatedCompany;
     }
 
-    private Company updateCompanyInfo(Company company, Company companyInfo) {
+    private Company updateCompanyInfo(Company company, Company companyInfo, Map<Integer, Employee> existingEmployees) {
         if (companyInfo.getCompanyName() != null){
             company.setCompanyName(companyInfo.getCompanyName());
         }
         if (companyInfo.getEmployees() != null){
-            company.setEmployees(companyInfo.getEmployees());
+            // request employees are detached and carry no version, so their fields are copied onto the managed rows
+            List<Employee> employees = new ArrayList<>(companyInfo.getEmployees().size());
+            for (Employee employeeInfo : companyInfo.getEmployees()) {
+                Employee employee = existingEmployees.containsKey(employeeInfo.getId())
+                        ? EmployeeService.updateEmployeeInfo(existingEmployees.get(employeeInfo.getId()), employeeInfo)
+                        : employeeRepository.save(new Employee(null, employeeInfo.getName(), employeeInfo.getAge(),
+                                employeeInfo.getGender(), employeeInfo.getSalary(), company.getId()));
+                employee.setCompanyId(company.getId());
+                employees.add(employee);
+            }
+            company.setEmployees(employees);
         }
         return company;
     }
 
+    private Map<Integer, Employee> findExistingEmployees(Company companyInfo) {
+        List<Integer> employeeIds = getEmployeeIds(companyInfo).stream().filter(Objects::nonNull).collect(Collectors.toList());
+        if (employeeIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    @Transactional
     public Company removeCompany(Integer companyId) {
         Optional<Company> removeCompany = companyRepository.findById(companyId);
+        List<Integer> employeeIds = removeCompany.map(this::getEmployeeIds).orElse(Collections.emptyList());
+        removeCompany.ifPresent(company -> {
+            companyRepository.recordTombstone(companyId);
+            companyRepository.recordEmployeeTombstones(companyId);
+            eventOutbox.companyDeleted(companyId);
+            eventOutbox.employeesDeleted(employeeIds);
+        });
         companyRepository.deleteById(companyId);
+        afterCommit(() -> {
+            cacheEvictor.evictCompanies(companyId);
+            cacheEvictor.evictEmployees(employeeIds);
+            employeeIds.forEach(employeeNameIndex::remove);
+        });
         return removeCompany.orElseThrow(CompanyNotFoundException::new);
     }
 
+    private void indexEmployeeNames(Company company) {
+        if (company.getEmployees() == null) {
+            return;
+        }
+        List<Employee> employees = new ArrayList<>(company.getEmployees());
+        afterCommit(() -> employees.forEach(employee -> employeeNameIndex.index(employee.getId(), employee.getName())));
+    }
+
+    // caches and the name index are not transactional, so they only learn about changes that actually committed
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private List<Integer> getEmployeeIds(Company company) {
+        if (company.getEmployees() == null) {
+            return Collections.emptyList();
+        }
+        return company.getEmployees().stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,210 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.dto.BatchItemResponse;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.event.EventOutbox;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeNameIndex;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class EmployeeBatchService {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeBatchService.class);
+    static final String CHUNK_FAILED_MESSAGE = "Chunk could not be saved";
+
+    private EmployeeRepository employeeRepository;
+
+    private CompanyRepository companyRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private CacheEvictor cacheEvictor;
+
+    private EmployeeNameIndex employeeNameIndex;
+
+    private EventOutbox eventOutbox;
+
+    private int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeBatchService(EmployeeRepository employeeRepository, CompanyRepository companyRepository,
+                                PlatformTransactionManager transactionManager, CacheEvictor cacheEvictor,
+                                EmployeeNameIndex employeeNameIndex, EventOutbox eventOutbox,
+                                @Value("${app.batch.chunk-size}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.companyRepository = companyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheEvictor = cacheEvictor;
+        this.employeeNameIndex = employeeNameIndex;
+        this.eventOutbox = eventOutbox;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<BatchItemResponse> addEmployees(List<Employee> employeeInfos) {
+        List<BatchItemResponse> results = new ArrayList<>();
+        for (int start = 0; start < employeeInfos.size(); start += chunkSize) {
+            List<Employee> chunk = employeeInfos.subList(start, Math.min(start + chunkSize, employeeInfos.size()));
+            int offset = start;
+            List<Employee> savedEmployees = new ArrayList<>();
+            List<BatchItemResponse> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> {
+                    List<BatchItemResponse> itemResults = new ArrayList<>();
+                    savedEmployees.addAll(employeeRepository.saveAll(chunk));
+                    flushAndClear();
+                    companyRepository.touchAll(chunk.stream().map(Employee::getCompanyId).collect(Collectors.toList()));
+                    savedEmployees.forEach(employee -> eventOutbox.employeeChanged(EventOutbox.CREATED, employee));
+                    for (int index = 0; index < savedEmployees.size(); index++) {
+                        itemResults.add(new BatchItemResponse(offset + index, savedEmployees.get(index).getId(), HttpStatus.CREATED, null));
+                    }
+                    return itemResults;
+                });
+            } catch (RuntimeException exception) {
+                results.addAll(failChunk(offset, chunk.size(), exception));
+                continue;
+            }
+            results.addAll(chunkResults);
+            cacheEvictor.evictCompanies(chunk.stream().map(Employee::getCompanyId).collect(Collectors.toList()));
+            savedEmployees.forEach(employee -> employeeNameIndex.index(employee.getId(), employee.getName()));
+        }
+        return results;
+    }
+
+    public List<BatchItemResponse> updateEmployees(List<Employee> employeeInfos) {
+        List<BatchItemResponse> results = new ArrayList<>();
+        for (int start = 0; start < employeeInfos.size(); start += chunkSize) {
+            List<Employee> chunk = employeeInfos.subList(start, Math.min(start + chunkSize, employeeInfos.size()));
+            int offset = start;
+            List<Integer> affectedCompanyIds = new ArrayList<>();
+            List<Employee> updatedEmployees = new ArrayList<>();
+            List<BatchItemResponse> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> {
+                    List<BatchItemResponse> itemResults = new ArrayList<>();
+                    Map<Integer, Employee> employees = findAllById(chunk.stream().map(Employee::getId).collect(Collectors.toList()));
+                    for (int index = 0; index < chunk.size(); index++) {
+                        Employee employeeInfo = chunk.get(index);
+                        Employee employee = employeeInfo.getId() == null ? null : employees.get(employeeInfo.getId());
+                        if (employee == null) {
+                            itemResults.add(new BatchItemResponse(offset + index, employeeInfo.getId(), HttpStatus.NOT_FOUND, "Employee id not found"));
+                        } else {
+                            affectedCompanyIds.add(employee.getCompanyId());
+                            EmployeeService.updateEmployeeInfo(employee, employeeInfo);
+                            affectedCompanyIds.add(employee.getCompanyId());
+                            updatedEmployees.add(employee);
+                            itemResults.add(new BatchItemResponse(offset + index, employee.getId(), HttpStatus.OK, null));
+                        }
+                    }
+                    flushAndClear();
+                    companyRepository.touchAll(affectedCompanyIds);
+                    updatedEmployees.forEach(employee -> eventOutbox.employeeChanged(EventOutbox.UPDATED, employee));
+                    return itemResults;
+                });
+            } catch (RuntimeException exception) {
+                results.addAll(failChunk(offset, chunk.size(), exception));
+                continue;
+            }
+            results.addAll(chunkResults);
+            cacheEvictor.evictEmployees(chunk.stream().map(Employee::getId).collect(Collectors.toList()));
+            cacheEvictor.evictCompanies(affectedCompanyIds);
+            updatedEmployees.forEach(employee -> employeeNameIndex.index(employee.getId(), employee.getName()));
+        }
+        return results;
+    }
+
+    public List<BatchItemResponse> removeEmployees(List<Integer> employeeIds) {
+        List<BatchItemResponse> results = new ArrayList<>();
+        for (int start = 0; start < employeeIds.size(); start += chunkSize) {
+            List<Integer> chunk = employeeIds.subList(start, Math.min(start + chunkSize, employeeIds.size()));
+            int offset = start;
+            List<Integer> affectedCompanyIds = new ArrayList<>();
+            List<BatchItemResponse> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> {
+                    List<BatchItemResponse> itemResults = new ArrayList<>();
+                    Map<Integer, Employee> employees = findAllById(chunk);
+                    employees.values().forEach(employee -> affectedCompanyIds.add(employee.getCompanyId()));
+                    if (!employees.isEmpty()) {
+                        employeeRepository.recordTombstones(employees.keySet());
+                    }
+                    employeeRepository.deleteInBatch(employees.values());
+                    for (int index = 0; index < chunk.size(); index++) {
+                        Integer employeeId = chunk.get(index);
+                        if (employeeId != null && employees.containsKey(employeeId)) {
+                            itemResults.add(new BatchItemResponse(offset + index, employeeId, HttpStatus.OK, null));
+                        } else {
+                            itemResults.add(new BatchItemResponse(offset + index, employeeId, HttpStatus.NOT_FOUND, "Employee id not found"));
+                        }
+                    }
+                    flushAndClear();
+                    companyRepository.touchAll(affectedCompanyIds);
+                    eventOutbox.employeesDeleted(employees.keySet());
+                    return itemResults;
+                });
+            } catch (RuntimeException exception) {
+                results.addAll(failChunk(offset, chunk.size(), exception));
+                continue;
+            }
+            results.addAll(chunkResults);
+            cacheEvictor.evictEmployees(chunk);
+            cacheEvictor.evictCompanies(affectedCompanyIds);
+            chunk.forEach(employeeNameIndex::remove);
+        }
+        return results;
+    }
+
+    private Map<Integer, Employee> findAllById(List<Integer> employeeIds) {
+        List<Integer> existingIds = employeeIds.stream().filter(employeeId -> employeeId != null).distinct().collect(Collectors.toList());
+        return employeeRepository.findAllById(existingIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<BatchItemResponse> failChunk(int offset, int size, RuntimeException exception) {
+        // only data the database refused is the caller's fault, outages and lock conflicts fail the whole request
+        if (!isRejectedData(exception)) {
+            throw exception;
+        }
+        LOG.warn("Batch chunk of {} items at offset {} failed", size, offset, exception);
+        List<BatchItemResponse> chunkResults = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            chunkResults.add(new BatchItemResponse(offset + index, null, HttpStatus.BAD_REQUEST, CHUNK_FAILED_MESSAGE));
+        }
+        return chunkResults;
+    }
+
+    private static boolean isRejectedData(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,59 +1,190 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import com.thoughtworks.springbootemployee.config.ChangeFeedProperties;
+import com.thoughtworks.springbootemployee.dto.EmployeeChangeResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.event.EventOutbox;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeVersionConflictException;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchException;
 import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeNameIndex;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.routing.PrimaryRoute;
 //import com.thoughtworks.springbootemployee.repository.RetiringEmployeeRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
+    // name search ranks in memory, so deep pages would mean keeping that many matches on the heap
+    public static final int MAX_NAME_SEARCH_OFFSET = 10000;
 
     private EmployeeRepository employeeRepository;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    private CompanyRepository companyRepository;
+
+    private CacheEvictor cacheEvictor;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EmployeeNameIndex employeeNameIndex;
+
+    private EventOutbox eventOutbox;
+
+    private ChangeFeedProperties changeFeedProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeService(EmployeeRepository employeeRepository, CompanyRepository companyRepository, CacheEvictor cacheEvictor,
+                           PlatformTransactionManager transactionManager, EmployeeNameIndex employeeNameIndex,
+                           EventOutbox eventOutbox, ChangeFeedProperties changeFeedProperties) {
        this.employeeRepository = employeeRepository;
+       this.companyRepository = companyRepository;
+       this.cacheEvictor = cacheEvictor;
+       this.transactionTemplate = new TransactionTemplate(transactionManager);
+       this.employeeNameIndex = employeeNameIndex;
+       this.eventOutbox = eventOutbox;
+       this.changeFeedProperties = changeFeedProperties;
+    }
+
+    @PostConstruct
+    public void rebuildNameIndex() {
+        employeeNameIndex.clear();
+        PrimaryRoute.call(employeeRepository::findAllNames)
+                .forEach(employee -> employeeNameIndex.index(employee.getId(), employee.getName()));
     }
 
     public Employee addEmployee(Employee employeeInfo) {
-        return employeeRepository.save(employeeInfo);
+        Employee employee = transactionTemplate.execute(status -> {
+            Employee savedEmployee = employeeRepository.save(employeeInfo);
+            companyRepository.touchAll(Arrays.asList(savedEmployee.getCompanyId()));
+            eventOutbox.employeeChanged(EventOutbox.CREATED, savedEmployee);
+            return savedEmployee;
+        });
+        cacheEvictor.evictCompanies(employee.getCompanyId());
+        employeeNameIndex.index(employee.getId(), employee.getName());
+        return employee;
     }
 
-    public List<Employee> getAllEmployees() {
-       return employeeRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> getAllEmployees() {
+       return employeeRepository.findAllResponses();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> employeeConsumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                employeeConsumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.EMPLOYEES, key = "#employeeId")
     public Employee findById(Integer employeeId) {
-        return employeeRepository.findById(employeeId)
+        // cached entries outlive replica lag, so they are loaded from the primary
+        return PrimaryRoute.call(() -> employeeRepository.findById(employeeId))
                 .orElseThrow(EmployeeNotFoundException::new);
     }
 
-    public List<Employee> findByGender(String employeeGender) {
-        return employeeRepository.findAllByGender(employeeGender);
+    public int findVersionById(Integer employeeId) {
+        return employeeRepository.findVersionById(employeeId)
+                .orElseThrow(EmployeeNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> findByGender(String employeeGender) {
+        return employeeRepository.findResponsesByGender(employeeGender);
     }
 
-    public List<Employee> getEmployeesByAgeRange(Integer minAge, Integer maxAge) {
-        return employeeRepository.findAllByAgeBetween(minAge, maxAge);
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> getEmployeesByAgeRange(Integer minAge, Integer maxAge) {
+        return employeeRepository.findResponsesByAgeBetween(minAge, maxAge);
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, key = "#employeeId")
     public Employee removeEmployee(Integer employeeId) {
-        Optional<Employee> removeEmployee = employeeRepository.findById(employeeId);
-        employeeRepository.deleteById(employeeId);
-        return removeEmployee.orElseThrow(EmployeeNotFoundException::new);
+        Employee removedEmployee = transactionTemplate.execute(status -> {
+            Employee employee = employeeRepository.findById(employeeId)
+                    .orElseThrow(EmployeeNotFoundException::new);
+            employeeRepository.recordTombstones(Collections.singletonList(employeeId));
+            employeeRepository.delete(employee);
+            companyRepository.touchAll(Arrays.asList(employee.getCompanyId()));
+            eventOutbox.employeesDeleted(Collections.singletonList(employeeId));
+            return employee;
+        });
+        cacheEvictor.evictCompanies(removedEmployee.getCompanyId());
+        employeeNameIndex.remove(removedEmployee.getId());
+        return removedEmployee;
     }
 
-    public Employee updateEmployee(Integer employeeId, Employee employeeInfo) {
-        Employee updateEmployee = employeeRepository.findById(employeeId)
-                .map(employee -> updateEmployeeInfo(employee, employeeInfo))
-                .get();
-        return employeeRepository.save(updateEmployee);
+    @Transactional(readOnly = true)
+    public List<EmployeeChangeResponse> getChangesSince(long changeSequence, int limit) {
+        // recent changes are held back until older sequence values had time to commit, so the token never skips past them
+        long unsettledChangeSequence = employeeRepository.findOldestUnsettledChangeSeq(changeSequence,
+                changeFeedProperties.getSettleTime().toMillis()).orElse(Long.MAX_VALUE);
+        Stream<EmployeeChangeResponse> changes = employeeRepository.findChangesSince(changeSequence, limit).stream()
+                .map(change -> new EmployeeChangeResponse(change.getId(), change.getChangeSeq(), false, change.getName(),
+                        change.getAge(), change.getGender(), change.getSalary(), change.getCompanyId()));
+        Stream<EmployeeChangeResponse> deletions = employeeRepository.findTombstonesSince(changeSequence, limit).stream()
+                .map(tombstone -> new EmployeeChangeResponse(tombstone.getId(), tombstone.getChangeSeq(), true,
+                        null, null, null, null, null));
+        return Stream.concat(changes, deletions)
+                .filter(change -> change.getChangeSequence() < unsettledChangeSequence)
+                .sorted(Comparator.comparing(EmployeeChangeResponse::getChangeSequence))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
-    private Employee updateEmployeeInfo(Employee employee, Employee employeeInfo) {
+    @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, key = "#employeeId")
+    public Employee updateEmployee(Integer employeeId, Employee employeeInfo, Integer expectedVersion) {
+        List<Integer> affectedCompanyIds = new ArrayList<>();
+        Employee updatedEmployee = transactionTemplate.execute(status -> {
+            if (employeeInfo.getCompanyId() != null) {
+                employeeRepository.lockCompanyIdById(employeeId).ifPresent(affectedCompanyIds::add);
+            }
+            Employee employee = employeeRepository.updateNonNullFields(employeeId, employeeInfo, expectedVersion)
+                    .orElseThrow(() -> employeeRepository.findVersionById(employeeId).isPresent()
+                            ? new EmployeeVersionConflictException()
+                            : new EmployeeNotFoundException());
+            affectedCompanyIds.add(employee.getCompanyId());
+            companyRepository.touchAll(affectedCompanyIds);
+            eventOutbox.employeeChanged(EventOutbox.UPDATED, employee);
+            return employee;
+        });
+        cacheEvictor.evictCompanies(affectedCompanyIds);
+        employeeNameIndex.index(updatedEmployee.getId(), updatedEmployee.getName());
+        return updatedEmployee;
+    }
+
+    static Employee updateEmployeeInfo(Employee employee, Employee employeeInfo) {
         if (employeeInfo.getName() != null){
             employee.setName(employeeInfo.getName());
         }
@@ -72,8 +203,34 @@ public class EmployeeService {
         return employee;
     }
 
-    public List<Employee> getEmployeesByPagination(Integer pageIndex, Integer pageSize) {
-        return employeeRepository.findAll(PageRequest.of(pageIndex-1,pageSize)).getContent();
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> getEmployeesByPagination(Integer pageIndex, Integer pageSize) {
+        return employeeRepository.findResponses(PageRequest.of(pageIndex-1,pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<EmployeeResponse> searchEmployees(Specification<Employee> specification, Pageable pageable) {
+        return employeeRepository.findResponses(specification, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> searchByName(String query, Integer pageIndex, Integer pageSize) {
+        long offset = (long) (pageIndex - 1) * pageSize;
+        if (offset > MAX_NAME_SEARCH_OFFSET) {
+            throw new InvalidSearchException();
+        }
+        List<Integer> rankedIds = employeeNameIndex.search(query, (int) offset, pageSize + 1);
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (int rank = 0; rank < rankedIds.size(); rank++) {
+            ranks.put(rankedIds.get(rank), rank);
+        }
+        return employeeRepository.findAllById(rankedIds).stream()
+                .sorted(Comparator.comparing(employee -> ranks.get(employee.getId())))
+                .collect(Collectors.toList());
+    }
+
+    public List<Employee> getEmployeesAfter(Integer employeeId, Integer limit) {
+        return employeeRepository.findAllByIdGreaterThanOrderByIdAsc(employeeId, PageRequest.of(0, limit));
     }
 
 }
@@ -6,8 +6,8 @@ import com.thoughtworks.springbootemployee.repository.RetiringCompanyRepository;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class RetiringCompanyService {
@@ -19,58 +19,46 @@ public class RetiringCompanyService {
     }
 
     public List<Company> getAllCompanies(){
-        return retiringCompanyRepository.getCompanies();
+        return retiringCompanyRepository.findAll();
     }
 
     public Company findById(Integer companyId) {
-        return getAllCompanies()
-                .stream()
-                .filter(company -> company.getId().equals(companyId))
-                .findFirst()
-                .orElse(null);
+        return retiringCompanyRepository.findById(companyId).orElse(null);
+    }
+
+    public Company findByEmployeeId(Integer employeeId) {
+        return retiringCompanyRepository.findByEmployeeId(employeeId).orElse(null);
     }
 
     public List<Employee> getAllEmployeesByCompanyId(Integer companyId) {
-        return findById(companyId).getEmployees();
+        return retiringCompanyRepository.findById(companyId)
+                .map(Company::getEmployees)
+                .orElse(Collections.emptyList());
     }
 
     public List<Company> getCompaniesByPagination(Integer pageIndex, Integer pageSize) {
-        return getAllCompanies()
-                .stream()
-                .skip((pageIndex - 1) * pageSize)
-                .limit(pageSize)
-                .collect(Collectors.toList());
+        return retiringCompanyRepository.findPage((pageIndex - 1) * pageSize, pageSize);
     }
 
     public Company addCompany(Company companyInfo) {
-        Company newCompany = new Company(retiringCompanyRepository.getCompanies().size()+1,
-                companyInfo.getCompanyName(), companyInfo.getEmployees());
-        retiringCompanyRepository.getCompanies().add(newCompany);
-        return newCompany;
+        return retiringCompanyRepository.save(new Company(null,
+                companyInfo.getCompanyName(), companyInfo.getEmployees()));
     }
 
     public Company updateCompany(Integer companyId, Company companyInfo) {
-        return getAllCompanies()
-                .stream()
-                .filter(company -> company.getId().equals(companyId))
-                .findFirst()
-                .map(company -> updateCompanyInfo(company, companyInfo))
+        return retiringCompanyRepository.update(companyId, company -> updateCompanyInfo(company, companyInfo))
                 .get();
     }
 
     public Company removeCompany(Integer companyId) {
-        Company removeCompany = retiringCompanyRepository.getCompanies().stream()
-                .filter(company -> company.getId().equals(companyId))
-                .findFirst().orElse(null);
-        retiringCompanyRepository.getCompanies().remove(removeCompany);
-        return removeCompany;
+        return retiringCompanyRepository.deleteById(companyId).orElse(null);
     }
 
     private Company updateCompanyInfo(Company company, Company companyInfo) {
         if (companyInfo.getCompanyName() != null){
             company.setCompanyName(companyInfo.getCompanyName());
         }
-        if (!companyInfo.getEmployees().isEmpty() && companyInfo.getEmployees() != null){
+        if (companyInfo.getEmployees() != null && !companyInfo.getEmployees().isEmpty()){
             company.setEmployees(companyInfo.getEmployees());
         }
         return company;
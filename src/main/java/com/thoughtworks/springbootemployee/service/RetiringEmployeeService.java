@@ -6,7 +6,6 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class RetiringEmployeeService {
@@ -18,58 +17,37 @@ public class RetiringEmployeeService {
     }
 
     public List<Employee> getAllEmployees() {
-        return retiringEmployeeRepository.getEmployees();
+        return retiringEmployeeRepository.findAll();
     }
 
     public Employee findById(Integer employeeId){
-        return getAllEmployees()
-                .stream()
-                .filter(employee -> employee.getId().equals(employeeId))
-                .findFirst()
-                .orElse(null)
-                ;
+        return retiringEmployeeRepository.findById(employeeId).orElse(null);
     }
 
     public List<Employee> findByGender(String employeeGender){
-        return getAllEmployees()
-                .stream()
-                .filter(employee -> employee.getGender().equals(employeeGender))
-                .collect(Collectors.toList());
+        return retiringEmployeeRepository.findByGender(employeeGender);
+    }
+
+    public List<Employee> getEmployeesByAgeRange(Integer minAge, Integer maxAge) {
+        return retiringEmployeeRepository.findByAgeBetween(minAge, maxAge);
     }
 
     public List<Employee> getEmployeesByPagination(Integer pageIndex, Integer pageSize) {
-        return getAllEmployees()
-                .stream()
-                .skip((pageIndex - 1) * pageSize)
-                .limit(pageSize)
-                .collect(Collectors.toList());
+        return retiringEmployeeRepository.findPage((pageIndex - 1) * pageSize, pageSize);
     }
 
     public Employee addEmployee(Employee employeeInfo) {
-//        return retiringEmployeeRepository.save(employeeInfo);
-        Employee newEmployee = new Employee(retiringEmployeeRepository.getEmployees().size()+1,
-                employeeInfo.getName(), employeeInfo.getAge(), employeeInfo.getGender(), employeeInfo.getSalary());
-        retiringEmployeeRepository.getEmployees().add(newEmployee);
-        return newEmployee;
+        return retiringEmployeeRepository.save(new Employee(null,
+                employeeInfo.getName(), employeeInfo.getAge(), employeeInfo.getGender(), employeeInfo.getSalary()));
     }
 
     public Employee updateEmployee(Integer employeeId, Employee employeeInfo){
-        return getAllEmployees()
-                .stream()
-                .filter(employee -> employee.getId().equals(employeeId))
-                .findFirst()
-                .map(employee -> updateEmployeeInfo(employee, employeeInfo))
-                .get()
-                ;
+        return retiringEmployeeRepository.update(employeeId, employee -> updateEmployeeInfo(employee, employeeInfo))
+                .get();
     }
 
     public Employee removeEmployee(Integer employeeId){
-        Employee removeEmployee = retiringEmployeeRepository.getEmployees().stream()
-                                        .filter(employee -> employee.getId()
-                                        .equals(employeeId))
-                                        .findFirst().orElse(null);
-        retiringEmployeeRepository.getEmployees().remove(removeEmployee);
-        return removeEmployee;
+        return retiringEmployeeRepository.deleteById(employeeId).orElse(null);
     }
 
     private Employee updateEmployeeInfo(Employee employee, Employee employeeInfo) {
@@ -0,0 +1,16 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.InvalidStatisticsGroupException;
+
+public enum StatisticsGroup {
+    NONE, GENDER, COMPANY, AGE;
+
+    public static StatisticsGroup of(String groupBy) {
+        for (StatisticsGroup statisticsGroup : values()) {
+            if (statisticsGroup.name().equalsIgnoreCase(groupBy)) {
+                return statisticsGroup;
+            }
+        }
+        throw new InvalidStatisticsGroupException();
+    }
+}
@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.exception.InvalidStatisticsGroupException;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.SalaryStatistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class StatisticsService {
+
+    private EmployeeRepository employeeRepository;
+
+    private CompanyRepository companyRepository;
+
+    public StatisticsService(EmployeeRepository employeeRepository, CompanyRepository companyRepository) {
+        this.employeeRepository = employeeRepository;
+        this.companyRepository = companyRepository;
+    }
+
+    public List<SalaryStatistics> getSalaryStatistics(StatisticsGroup statisticsGroup) {
+        switch (statisticsGroup) {
+            case GENDER:
+                return employeeRepository.getSalaryStatisticsByGender();
+            case COMPANY:
+                return employeeRepository.getSalaryStatisticsByCompany();
+            case AGE:
+                return employeeRepository.getSalaryStatisticsByAgeBucket();
+            default:
+                return employeeRepository.getSalaryStatistics();
+        }
+    }
+
+    public List<SalaryStatistics> getSalaryStatisticsByCompanyId(Integer companyId, StatisticsGroup statisticsGroup) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new CompanyNotFoundException();
+        }
+        switch (statisticsGroup) {
+            case GENDER:
+                return employeeRepository.getSalaryStatisticsOfCompanyByGender(companyId);
+            case AGE:
+                return employeeRepository.getSalaryStatisticsOfCompanyByAgeBucket(companyId);
+            case COMPANY:
+                throw new InvalidStatisticsGroupException();
+            default:
+                return employeeRepository.getSalaryStatisticsOfCompany(companyId);
+        }
+    }
+}
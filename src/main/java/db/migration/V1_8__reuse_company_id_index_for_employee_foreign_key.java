@@ -0,0 +1,32 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class V1_8__reuse_company_id_index_for_employee_foreign_key extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        // V1.0 declared the foreign key inline, so H2 gave it a generated name and its own index on company_id
+        List<String> foreignKeys = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT constraint_name FROM information_schema.constraints " +
+                     "WHERE table_name = 'EMPLOYEE' AND constraint_type = 'REFERENTIAL' AND column_list = 'COMPANY_ID'")) {
+            while (resultSet.next()) {
+                foreignKeys.add(resultSet.getString(1));
+            }
+        }
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String foreignKey : foreignKeys) {
+                statement.execute("ALTER TABLE employee DROP CONSTRAINT \"" + foreignKey + "\"");
+            }
+            // re-created after idx_employee_company_id exists, so the constraint reuses it instead of owning a duplicate
+            statement.execute("ALTER TABLE employee ADD CONSTRAINT fk_employee_company FOREIGN KEY (company_id) REFERENCES company(id)");
+        }
+    }
+}
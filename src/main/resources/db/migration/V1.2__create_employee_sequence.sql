@@ -0,0 +1,3 @@
+CREATE SEQUENCE if NOT EXISTS employee_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE employee_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM employee);
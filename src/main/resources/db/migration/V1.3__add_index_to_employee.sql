@@ -0,0 +1,5 @@
+CREATE INDEX if NOT EXISTS idx_employee_gender_age ON employee(gender, age);
+
+CREATE INDEX if NOT EXISTS idx_employee_age ON employee(age);
+
+CREATE INDEX if NOT EXISTS idx_employee_company_id ON employee(company_id);
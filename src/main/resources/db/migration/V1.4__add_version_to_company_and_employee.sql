@@ -0,0 +1,2 @@
+alter table company ADD column version int not null default 0;
+alter table employee ADD column version int not null default 0;
@@ -0,0 +1 @@
+CREATE INDEX if NOT EXISTS idx_employee_salary ON employee(salary);
@@ -0,0 +1,22 @@
+CREATE SEQUENCE if NOT EXISTS change_seq;
+
+alter table employee ADD column change_seq bigint default next value for change_seq on update next value for change_seq;
+alter table employee ADD column updated_at timestamp default current_timestamp on update current_timestamp;
+alter table company ADD column change_seq bigint default next value for change_seq on update next value for change_seq;
+alter table company ADD column updated_at timestamp default current_timestamp on update current_timestamp;
+
+UPDATE employee SET change_seq = next value for change_seq WHERE change_seq IS NULL;
+UPDATE company SET change_seq = next value for change_seq WHERE change_seq IS NULL;
+
+CREATE INDEX if NOT EXISTS idx_employee_change_seq ON employee(change_seq);
+CREATE INDEX if NOT EXISTS idx_company_change_seq ON company(change_seq);
+
+CREATE TABLE if NOT EXISTS tombstone(
+entity_type     varchar(32) not null,
+entity_id       int not null,
+change_seq      bigint not null,
+deleted_at      timestamp default current_timestamp not null,
+primary key (entity_type, entity_id)
+);
+
+CREATE INDEX if NOT EXISTS idx_tombstone_type_change_seq ON tombstone(entity_type, change_seq);
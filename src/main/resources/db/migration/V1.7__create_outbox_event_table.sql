@@ -0,0 +1,10 @@
+CREATE TABLE if NOT EXISTS outbox_event(
+id              bigint not null auto_increment primary key,
+aggregate_type  varchar(32) not null,
+aggregate_id    int not null,
+event_type      varchar(64) not null,
+payload         varchar(4000) not null,
+created_at      timestamp not null
+);
+
+CREATE INDEX if NOT EXISTS idx_outbox_event_created_at ON outbox_event(created_at);
@@ -0,0 +1,66 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncConfigurationTest {
+
+    @Test
+    void should_run_inline_when_requestExecutor_given_async_disabled() {
+        //given
+        AsyncProperties asyncProperties = new AsyncProperties();
+        asyncProperties.setEnabled(false);
+        Thread caller = Thread.currentThread();
+        Thread[] runner = new Thread[1];
+
+        //when
+        Executor executor = new AsyncConfiguration().requestExecutor(asyncProperties, new RejectedRequestCounter());
+        executor.execute(() -> runner[0] = Thread.currentThread());
+
+        //then
+        assertEquals(caller, runner[0]);
+    }
+
+    @Test
+    void should_reject_and_count_when_execute_given_pool_and_queue_are_full() {
+        //given
+        AsyncProperties asyncProperties = new AsyncProperties();
+        asyncProperties.setEnabled(true);
+        asyncProperties.setPoolSize(1);
+        asyncProperties.setQueueCapacity(1);
+        asyncProperties.setVirtualThreads(false);
+        RejectedRequestCounter rejectedRequestCounter = new RejectedRequestCounter();
+        Executor executor = new AsyncConfiguration().requestExecutor(asyncProperties, rejectedRequestCounter);
+        assertTrue(executor instanceof ThreadPoolTaskExecutor);
+        ThreadPoolTaskExecutor requestExecutor = (ThreadPoolTaskExecutor) executor;
+        requestExecutor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+
+        //when
+        requestExecutor.execute(() -> awaitQuietly(release));
+        requestExecutor.execute(() -> { });
+
+        //then
+        assertThrows(RejectedExecutionException.class, () -> requestExecutor.execute(() -> { }));
+        assertEquals(1, rejectedRequestCounter.getRejectedCount());
+        assertEquals(1, requestExecutor.getThreadPoolExecutor().getQueue().size());
+        release.countDown();
+        requestExecutor.shutdown();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.config.ChangeFeedProperties;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.changes.settle-time=1h")
+@AutoConfigureMockMvc
+public class ChangeFeedIntegrationTest {
+    private static final Duration HOLD_BACK = Duration.ofHours(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ChangeFeedProperties changeFeedProperties;
+
+    @AfterEach
+    void tearDown(){
+        changeFeedProperties.setSettleTime(HOLD_BACK);
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_not_skip_change_of_slower_transaction_when_getChangesSince_given_interleaved_transactions() throws Exception {
+        //given
+        Employee slowEmployee = employeeRepository.save(new Employee(1, "Lara", 21, "female", 1000));
+        Employee fastEmployee = employeeRepository.save(new Employee(2, "Cedie", 27, "male", 500));
+        changeFeedProperties.setSettleTime(Duration.ZERO);
+        String since = drainChanges("");
+        changeFeedProperties.setSettleTime(HOLD_BACK);
+        CountDownLatch slowUpdated = new CountDownLatch(1);
+        CountDownLatch fastCommitted = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<?> slowTransaction = executorService.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE employee SET age = 40 WHERE id = ?", slowEmployee.getId());
+            slowUpdated.countDown();
+            try {
+                assertTrue(fastCommitted.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+        }));
+        assertTrue(slowUpdated.await(10, TimeUnit.SECONDS));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE employee SET age = 30 WHERE id = ?", fastEmployee.getId()));
+
+        //when
+        String response = performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andReturn().getResponse().getContentAsString();
+        fastCommitted.countDown();
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        changeFeedProperties.setSettleTime(Duration.ZERO);
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", JsonPath.<String>read(response, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(slowEmployee.getId()))
+                .andExpect(jsonPath("$.content[0].age").value(40))
+                .andExpect(jsonPath("$.content[1].id").value(fastEmployee.getId()))
+                .andExpect(jsonPath("$.content[1].age").value(30));
+    }
+
+    private String drainChanges(String since) throws Exception {
+        while (true) {
+            String body = performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", since))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            since = JsonPath.read(body, "$.nextCursor");
+            if (JsonPath.<List<?>>read(body, "$.content").isEmpty()) {
+                return since;
+            }
+        }
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -1,32 +1,52 @@
 package com.thoughtworks.springbootemployee.integration;
 
 import antlr.build.Tool;
+import com.jayway.jsonpath.JsonPath;
 import com.thoughtworks.springbootemployee.entity.Company;
 import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.metrics.QueryCountFilter;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
 public class CompanyIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
     CompanyRepository companyRepository;
     @Autowired
     EmployeeRepository employeeRepository;
@@ -49,7 +69,7 @@ public class CompanyIntegrationTest {
 
         //when
         //then
-        mockMvc.perform(MockMvcRequestBuilders.get("/companies"))
+        performAsync(MockMvcRequestBuilders.get("/companies"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(4)));
     }
@@ -67,7 +87,7 @@ public class CompanyIntegrationTest {
 
         //when
         //then
-        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}/employees",savedCompany.getId()))
+        performAsync(MockMvcRequestBuilders.get("/companies/{companyId}/employees",savedCompany.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$",hasSize(3)))
                 .andExpect(jsonPath("$[0].name").value("Red"))
@@ -84,7 +104,7 @@ public class CompanyIntegrationTest {
         Company savedCompany = companyRepository.save(company);
 
         Integer id = savedCompany.getId();
-        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{id}",id))
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}",id))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.companyName").value("MIS"))
                 .andExpect(jsonPath("$.employees").isEmpty());
@@ -101,7 +121,7 @@ public class CompanyIntegrationTest {
         //when
         //then
         int pageIndex = 1 ,pageSize = 2;
-        mockMvc.perform(MockMvcRequestBuilders.get("/companies?pageIndex={pageIndex}&pageSize={pageSize}",pageIndex,pageSize))
+        performAsync(MockMvcRequestBuilders.get("/companies?pageIndex={pageIndex}&pageSize={pageSize}",pageIndex,pageSize))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].companyName").value("MIS"))
                 .andExpect(jsonPath("$[0].employees").isEmpty())
@@ -121,13 +141,69 @@ public class CompanyIntegrationTest {
 
         //when
         int id = savedCompany.getId();
-        mockMvc.perform(MockMvcRequestBuilders.put("/companies/{id}", id)
+        performAsync(MockMvcRequestBuilders.put("/companies/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(companyInfo))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.companyName").value("Honeybee"));
     }
 
+    @Test
+    void should_update_employees_when_updateCompany_given_employee_updated_since_it_was_read() throws Exception {
+        //given
+        Company savedCompany = companyRepository.save(new Company(1,"MIS", null));
+        Employee employee = employeeRepository.save(new Employee(null,"Red",22,"male",1000,savedCompany.getId()));
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 23}"))
+                .andExpect(status().isOk());
+        String companyInfo = "{\"companyName\": \"Honeybee\", \"employees\": [" +
+                "{\"id\": " + employee.getId() + ", \"name\": \"Blue\"}, " +
+                "{\"name\": \"Green\", \"age\": 30, \"gender\": \"female\", \"salary\": 2000}]}";
+
+        //when
+        performAsync(MockMvcRequestBuilders.put("/companies/{id}", savedCompany.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(companyInfo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(2)))
+                .andExpect(jsonPath("$.employees[0].name").value("Blue"))
+                .andExpect(jsonPath("$.employees[0].age").value(23))
+                .andExpect(jsonPath("$.employees[0].version").doesNotExist());
+
+        //then
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertEquals("Blue", updatedEmployee.getName());
+        assertEquals(23, updatedEmployee.getAge());
+        assertEquals(2, updatedEmployee.getVersion());
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_updated_company_when_findById_given_company_cached_before_updateCompany() throws Exception {
+        //given
+        Company savedCompany = companyRepository.save(new Company(1,"MIS", null));
+        Employee employee = employeeRepository.save(new Employee(null,"Red",22,"male",1000,savedCompany.getId()));
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}", savedCompany.getId()))
+                .andExpect(status().isOk());
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+
+        //when
+        performAsync(MockMvcRequestBuilders.put("/companies/{id}", savedCompany.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyName\": \"Honeybee\", \"employees\": [{\"id\": " + employee.getId() + ", \"name\": \"Blue\"}]}"))
+                .andExpect(status().isOk());
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}", savedCompany.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("Honeybee"));
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Blue"));
+    }
+
     @Test
     void should_remove_when_deleteCompany_given_company_id() throws Exception {
         //given
@@ -136,7 +212,7 @@ public class CompanyIntegrationTest {
 
         //when
         int id = savedCompany.getId();
-        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/{id}", id)
+        performAsync(MockMvcRequestBuilders.delete("/companies/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -151,7 +227,7 @@ public class CompanyIntegrationTest {
                 "}";
 
         //when
-        mockMvc.perform(MockMvcRequestBuilders.post("/companies")
+        performAsync(MockMvcRequestBuilders.post("/companies")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(company))
                 .andExpect(status().isCreated())
@@ -160,5 +236,128 @@ public class CompanyIntegrationTest {
 
     }
 
+    @Test
+    void should_return_next_cursor_when_getCompaniesByCursor_given_limit_is_2() throws Exception {
+        //given
+        companyRepository.save(new Company(1,"MIS", null));
+        companyRepository.save(new Company(2,"EDI", null));
+        companyRepository.save(new Company(3,"LODS", null));
+
+        //when
+        String response = performAsync(MockMvcRequestBuilders.get("/companies?limit={limit}", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].companyName").value("MIS"))
+                .andExpect(jsonPath("$.content[1].companyName").value("EDI"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(response, "$.nextCursor");
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies?after={after}&limit={limit}", nextCursor, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].companyName").value("LODS"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_getCompaniesByCursor_given_limit_mixed_with_pagination() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies").param("limit", "10").param("pageIndex", "1").param("pageSize", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_employee_number_when_getAllCompanies_given_companies_with_employees() throws Exception {
+        //given
+        Company savedCompany = companyRepository.save(new Company(1,"MIS", null));
+        companyRepository.save(new Company(2,"EDI", null));
+        employeeRepository.save(new Employee(1,"Red",22,"male",1000,savedCompany.getId()));
+        employeeRepository.save(new Employee(2,"Sharlz",23,"female",500,savedCompany.getId()));
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].companyName").value("MIS"))
+                .andExpect(jsonPath("$[0].employeeNumber").value(2))
+                .andExpect(jsonPath("$[1].companyName").value("EDI"))
+                .andExpect(jsonPath("$[1].employeeNumber").value(0));
+    }
+
+    @Test
+    void should_embed_employees_of_requested_page_when_getListByPagination_given_expand_employees(CapturedOutput output) throws Exception {
+        //given
+        Company mis = companyRepository.save(new Company(1,"MIS", null));
+        Company edi = companyRepository.save(new Company(2,"EDI", null));
+        Company lods = companyRepository.save(new Company(3,"LODS", null));
+        employeeRepository.save(new Employee(1,"Red",22,"male",1000,mis.getId()));
+        employeeRepository.save(new Employee(2,"Sharlz",23,"female",500,edi.getId()));
+        employeeRepository.save(new Employee(3,"Ann",24,"female",700,edi.getId()));
+        employeeRepository.save(new Employee(4,"Joe",25,"male",900,lods.getId()));
+        double companyStatementsBefore = statementTotal("/companies/{companyId}");
+        double pageStatementsBefore = statementTotal("/companies");
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}", edi.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(2)));
+        assertEquals(1, statementTotal("/companies/{companyId}") - companyStatementsBefore);
+        performAsync(MockMvcRequestBuilders.get("/companies")
+                        .param("pageIndex", "2")
+                        .param("pageSize", "1")
+                        .param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].companyName").value("EDI"))
+                .andExpect(jsonPath("$[0].employeeNumber").value(2))
+                .andExpect(jsonPath("$[0].employees", hasSize(2)));
+        assertEquals(2, statementTotal("/companies") - pageStatementsBefore);
+        assertFalse(output.getAll().contains("HHH000104"));
+    }
+
+    @Test
+    void should_change_etag_when_findById_given_employee_joined_company() throws Exception {
+        //given
+        Company savedCompany = companyRepository.save(new Company(1,"MIS", null));
+        String eTag = performAsync(MockMvcRequestBuilders.get("/companies/{id}", savedCompany.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String employeesETag = performAsync(MockMvcRequestBuilders.get("/companies/{id}/employees", savedCompany.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}/employees", savedCompany.getId()).header(HttpHeaders.IF_NONE_MATCH, employeesETag))
+                .andExpect(status().isNotModified());
+
+        //when
+        performAsync(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Red\", \"age\": 22, \"gender\": \"male\", \"salary\": 1000, \"companyId\": " + savedCompany.getId() + "}"))
+                .andExpect(status().isCreated());
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}", savedCompany.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.employees", hasSize(1)));
+        performAsync(MockMvcRequestBuilders.get("/companies/{id}/employees", savedCompany.getId()).header(HttpHeaders.IF_NONE_MATCH, employeesETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    private double statementTotal(String uri) {
+        DistributionSummary summary = meterRegistry.find(QueryCountFilter.METRIC_NAME).tag("uri", uri).tag("method", "GET").summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 
 }
@@ -0,0 +1,131 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-load;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.connection-timeout=10000",
+        // GET /employees/{id} would otherwise be served from the cache after the first miss, without touching the pool
+        "app.cache.entities.employees.enabled=false"
+})
+@AutoConfigureMockMvc
+public class ConnectionPoolLoadTest {
+    private static final String POOL_NAME = "employee-pool";
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @AfterEach
+    void tearDown(){
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_queue_requests_on_pool_and_record_wait_time_when_read_endpoints_are_hit_given_more_clients_than_connections() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(Arrays.asList(
+                new Employee(1, "Lara", 21, "female", 1000),
+                new Employee(2, "Cedie", 27, "male", 500),
+                new Employee(3, "Kitz", 22, "male", 1000)));
+        List<RequestBuilder> readRequests = Arrays.asList(
+                MockMvcRequestBuilders.get("/employees"),
+                MockMvcRequestBuilders.get("/employees").param("gender", "male"),
+                MockMvcRequestBuilders.get("/employees").param("pageIndex", "1").param("pageSize", "2"),
+                MockMvcRequestBuilders.get("/employees").param("minAge", "20").param("maxAge", "25"),
+                MockMvcRequestBuilders.get("/employees/{id}", employees.get(0).getId()));
+        long acquiresBefore = acquireTimer().count();
+        AtomicInteger peakPending = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakPending.accumulateAndGet((int) pendingConnections(), Math::max),
+                0, 1, TimeUnit.MILLISECONDS);
+
+        //when
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            int offset = client;
+            results.add(clients.submit(() -> {
+                start.await();
+                for (int index = 0; index < REQUESTS_PER_CLIENT; index++) {
+                    performAsync(readRequests.get((offset + index) % readRequests.size()))
+                            .andExpect(status().isOk());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        clients.shutdown();
+        sampler.shutdownNow();
+
+        //then
+        Timer acquireTimer = acquireTimer();
+        assertTrue(acquireTimer.count() - acquiresBefore >= CLIENTS * REQUESTS_PER_CLIENT);
+        assertTrue(peakPending.get() > 0);
+        assertTrue(acquireTimer.max(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(0, timeoutCount());
+        assertEquals(2.0, meterRegistry.get("hikaricp.connections.max").tag("pool", POOL_NAME).gauge().value());
+    }
+
+    private Timer acquireTimer() {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", POOL_NAME).timer();
+    }
+
+    private double pendingConnections() {
+        return meterRegistry.get("hikaricp.connections.pending").tag("pool", POOL_NAME).gauge().value();
+    }
+
+    private double timeoutCount() {
+        return meterRegistry.get("hikaricp.connections.timeout").tag("pool", POOL_NAME).counter().count();
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -0,0 +1,195 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class ContentNegotiationIntegrationTest {
+    private static final String APPLICATION_CBOR = "application/cbor";
+    private static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    private static final int EMPLOYEE_COUNT = 100;
+    private static final TypeReference<List<EmployeeResponse>> EMPLOYEE_RESPONSES = new TypeReference<List<EmployeeResponse>>() {};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp(){
+        company = companyRepository.save(new Company(null, "OOCL", null));
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= EMPLOYEE_COUNT; id++) {
+            employees.add(new Employee(id, "Employee " + id, 20 + id % 40, id % 2 == 0 ? "male" : "female", 1000, company.getId()));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @AfterEach
+    void tearDown(){
+        employeeRepository.deleteAll();
+        companyRepository.deleteAll();
+    }
+
+    @Test
+    void should_return_cbor_when_getAllEmployees_given_accept_cbor() throws Exception {
+        //when
+        byte[] body = performAsync(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.ACCEPT, APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        List<EmployeeResponse> employees = new ObjectMapper(new CBORFactory()).readValue(body, EMPLOYEE_RESPONSES);
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+        assertEquals("Employee 1", employees.get(0).getName());
+    }
+
+    @Test
+    void should_return_smile_when_getAllEmployees_given_accept_smile() throws Exception {
+        //when
+        byte[] body = performAsync(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.ACCEPT, APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        List<EmployeeResponse> employees = new ObjectMapper(new SmileFactory()).readValue(body, EMPLOYEE_RESPONSES);
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+    }
+
+    @Test
+    void should_gzip_response_when_getAllEmployees_given_accept_encoding_gzip() throws Exception {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/json");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        //when
+        ResponseEntity<byte[]> response = restTemplate.exchange("/employees", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        List<EmployeeResponse> employees = new ObjectMapper().readValue(gunzip(response.getBody()), EMPLOYEE_RESPONSES);
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+    }
+
+    @Test
+    void should_gzip_response_with_weak_etag_when_getAllEmployeesByCompanyId_given_accept_encoding_gzip() throws Exception {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/json");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        //when
+        ResponseEntity<byte[]> response = restTemplate.exchange("/companies/{id}/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class, company.getId());
+
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getETag().startsWith("W/"));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+        List<EmployeeResponse> employees = new ObjectMapper().readValue(gunzip(response.getBody()), EMPLOYEE_RESPONSES);
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+    }
+
+    @Test
+    void should_not_match_json_etag_when_getAllEmployeesByCompanyId_given_accept_cbor() throws Exception {
+        //given
+        HttpHeaders jsonHeaders = new HttpHeaders();
+        jsonHeaders.set(HttpHeaders.ACCEPT, "application/json");
+        String jsonETag = restTemplate.exchange("/companies/{id}/employees", HttpMethod.GET,
+                new HttpEntity<>(jsonHeaders), byte[].class, company.getId()).getHeaders().getETag();
+        HttpHeaders cborHeaders = new HttpHeaders();
+        cborHeaders.set(HttpHeaders.ACCEPT, APPLICATION_CBOR);
+        cborHeaders.set(HttpHeaders.IF_NONE_MATCH, jsonETag);
+
+        //when
+        ResponseEntity<byte[]> response = restTemplate.exchange("/companies/{id}/employees", HttpMethod.GET,
+                new HttpEntity<>(cborHeaders), byte[].class, company.getId());
+
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(APPLICATION_CBOR, response.getHeaders().getContentType().toString());
+        assertNotEquals(jsonETag, response.getHeaders().getETag());
+        List<EmployeeResponse> employees = new ObjectMapper(new CBORFactory()).readValue(response.getBody(), EMPLOYEE_RESPONSES);
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+    }
+
+    @Test
+    void should_return_not_modified_when_getAllEmployeesByCompanyId_given_etag_of_same_representation() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, APPLICATION_SMILE);
+        String smileETag = restTemplate.exchange("/companies/{id}/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class, company.getId()).getHeaders().getETag();
+        headers.set(HttpHeaders.IF_NONE_MATCH, smileETag);
+
+        //when
+        ResponseEntity<byte[]> response = restTemplate.exchange("/companies/{id}/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class, company.getId());
+
+        //then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(smileETag, response.getHeaders().getETag());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return StreamUtils.copyToByteArray(inputStream);
+        }
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
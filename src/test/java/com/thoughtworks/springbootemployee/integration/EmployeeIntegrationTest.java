@@ -1,6 +1,9 @@
 package com.thoughtworks.springbootemployee.integration;
 
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.entity.Company;
 import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,18 +11,33 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.changes.settle-time=0ms")
 @AutoConfigureMockMvc
 public class EmployeeIntegrationTest {
 
@@ -27,10 +45,13 @@ public class EmployeeIntegrationTest {
     private MockMvc mockMvc;
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
 
     @AfterEach
     void tearDown(){
         employeeRepository.deleteAll();
+        companyRepository.deleteAll();
     }
 
     @Test
@@ -40,7 +61,7 @@ public class EmployeeIntegrationTest {
         employeeRepository.save(employee);
 
         //when
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+        performAsync(MockMvcRequestBuilders.get("/employees"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Lara"))
                 .andExpect(jsonPath("$[0].age").value(22))
@@ -60,7 +81,7 @@ public class EmployeeIntegrationTest {
                 "}";
 
         //when
-        mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+        performAsync(MockMvcRequestBuilders.post("/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(employee))
                 .andExpect(status().isCreated())
@@ -82,7 +103,7 @@ public class EmployeeIntegrationTest {
 
         //when
         int id = savedEmployee.getId();
-        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{id}", id)
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(newEmployeeInfo))
                 .andExpect(status().isOk())
@@ -98,7 +119,7 @@ public class EmployeeIntegrationTest {
 
         //when
         int id = savedEmployee.getId();
-        mockMvc.perform(MockMvcRequestBuilders.delete("/employees/{id}", id)
+        performAsync(MockMvcRequestBuilders.delete("/employees/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -111,7 +132,7 @@ public class EmployeeIntegrationTest {
         final Employee savedEmployee = employeeRepository.save(employee);
 
         Integer id = savedEmployee.getId();
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{id}",id))
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}",id))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Lara"))
                 .andExpect(jsonPath("$.age").value(20))
@@ -133,7 +154,7 @@ public class EmployeeIntegrationTest {
         //when
         //then
         String gender = "female";
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees?gender={gender}",gender))
+        performAsync(MockMvcRequestBuilders.get("/employees?gender={gender}",gender))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Lara"))
                 .andExpect(jsonPath("$[0].age").value(20))
@@ -159,7 +180,7 @@ public class EmployeeIntegrationTest {
         //when
         //then
         int pageIndex = 1 ,pageSize = 2;
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees?pageIndex={pageIndex}&pageSize={pageSize}",pageIndex,pageSize))
+        performAsync(MockMvcRequestBuilders.get("/employees?pageIndex={pageIndex}&pageSize={pageSize}",pageIndex,pageSize))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Lara"))
                 .andExpect(jsonPath("$[0].age").value(20))
@@ -172,4 +193,447 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[2].name").doesNotExist());
     }
 
+    @Test
+    void should_return_next_cursor_when_getEmployeesByCursor_given_limit_is_2() throws Exception {
+        //given
+        employeeRepository.save(new Employee(1,"Lara",20,"female",1000));
+        employeeRepository.save(new Employee(2,"Jerz",20,"male",1000));
+        employeeRepository.save(new Employee(3,"Ephree",20,"female",1000));
+
+        //when
+        String response = performAsync(MockMvcRequestBuilders.get("/employees?limit={limit}", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Lara"))
+                .andExpect(jsonPath("$.content[1].name").value("Jerz"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(response, "$.nextCursor");
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees?after={after}&limit={limit}", nextCursor, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Ephree"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_getEmployeesByCursor_given_invalid_cursor() throws Exception {
+        performAsync(MockMvcRequestBuilders.get("/employees?after={after}&limit={limit}", "not-a-cursor", 2))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_getEmployeesByCursor_given_limit_above_maximum() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").param("limit", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_getEmployeesByCursor_given_limit_mixed_with_other_listing_params() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").param("limit", "10").param("gender", "male"))
+                .andExpect(status().isBadRequest());
+        performAsync(MockMvcRequestBuilders.get("/employees").param("limit", "10").param("pageIndex", "1").param("pageSize", "2"))
+                .andExpect(status().isBadRequest());
+        performAsync(MockMvcRequestBuilders.get("/employees").param("limit", "10").param("minAge", "20").param("maxAge", "30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_stream_one_json_line_per_employee_when_exportEmployees() throws Exception {
+        //given
+        employeeRepository.save(new Employee(1,"Lara",20,"female",1000));
+        employeeRepository.save(new Employee(2,"Jerz",21,"male",500));
+
+        //when
+        String response = mockMvc.perform(MockMvcRequestBuilders.get("/employees/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Lara", JsonPath.read(lines[0], "$.name"));
+        assertEquals("Jerz", JsonPath.read(lines[1], "$.name"));
+    }
+
+    @Test
+    void should_report_each_item_when_batch_add_update_and_delete_employees() throws Exception {
+        //given
+        String employees = "[" +
+                "{\"name\": \"Lara\", \"age\": 20, \"gender\": \"female\", \"salary\": 1000}," +
+                "{\"name\": \"Jerz\", \"age\": 21, \"gender\": \"male\", \"salary\": 500}" +
+                "]";
+
+        //when
+        String response = performAsync(MockMvcRequestBuilders.post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"))
+                .andReturn().getResponse().getContentAsString();
+        Integer laraId = JsonPath.read(response, "$[0].id");
+        Integer jerzId = JsonPath.read(response, "$[1].id");
+
+        //then
+        performAsync(MockMvcRequestBuilders.put("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\": " + laraId + ", \"salary\": 2000}, {\"id\": -1, \"salary\": 2000}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+        assertEquals(2000, employeeRepository.findById(laraId).get().getSalary());
+
+        performAsync(MockMvcRequestBuilders.delete("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + laraId + ", " + jerzId + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[1].status").value("OK"));
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void should_reject_chunk_when_batch_add_employees_given_employee_without_name() throws Exception {
+        //given
+        String employees = "[" +
+                "{\"name\": \"Lara\", \"age\": 20, \"gender\": \"female\", \"salary\": 1000}," +
+                "{\"age\": 21, \"gender\": \"male\", \"salary\": 500}" +
+                "]";
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$[1].status").value("BAD_REQUEST"));
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_updated_employee_when_findById_given_cached_employee_was_updated() throws Exception {
+        //given
+        final Employee savedEmployee = employeeRepository.save(new Employee(1,"Lara",20,"female",1000));
+        Integer id = savedEmployee.getId();
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}",id))
+                .andExpect(jsonPath("$.name").value("Lara"));
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}",id))
+                .andExpect(jsonPath("$.name").value("Lara"));
+
+        //when
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Angelo\"}"))
+                .andExpect(status().isOk());
+
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}",id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Angelo"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.enabled").value(true))
+                .andExpect(jsonPath("$.employees.hitCount").isNumber());
+    }
+
+    @Test
+    void should_return_salary_statistics_per_gender_when_getSalaryStatistics_given_groupBy_gender() throws Exception {
+        //given
+        employeeRepository.save(new Employee(1,"Lara",20,"female",1000));
+        employeeRepository.save(new Employee(2,"Jerz",21,"male",500));
+        employeeRepository.save(new Employee(3,"Ephree",22,"female",3000));
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/stats?groupBy={groupBy}", "gender"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].groupKey").value("female"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].sum").value(4000.0))
+                .andExpect(jsonPath("$[0].min").value(1000.0))
+                .andExpect(jsonPath("$[0].max").value(3000.0))
+                .andExpect(jsonPath("$[0].avg").value(2000.0))
+                .andExpect(jsonPath("$[1].groupKey").value("male"))
+                .andExpect(jsonPath("$[1].count").value(1));
+    }
+
+    @Test
+    void should_return_bad_request_when_getSalaryStatistics_given_unknown_group() throws Exception {
+        performAsync(MockMvcRequestBuilders.get("/employees/stats?groupBy={groupBy}", "salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_not_modified_when_findById_given_matching_if_none_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(1,"Red",22,"male",1000));
+        String eTag = performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 23}"))
+                .andExpect(status().isOk());
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(23));
+    }
+
+    @Test
+    void should_return_filtered_sorted_page_when_searchEmployees_given_combined_filters() throws Exception {
+        //given
+        Integer companyId = companyRepository.save(new Company(1,"OOCL", null)).getId();
+        Integer otherCompanyId = companyRepository.save(new Company(2,"DPMCP", null)).getId();
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(1,"Lara",21,"female",1000,companyId),
+                new Employee(2,"Cedie",27,"female",3000,companyId),
+                new Employee(3,"Kitz",25,"female",2000,companyId),
+                new Employee(4,"Ann",26,"female",2500,otherCompanyId),
+                new Employee(5,"Robert",25,"male",2000,companyId)));
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/search")
+                        .param("gender", "female")
+                        .param("minAge", "22")
+                        .param("maxAge", "30")
+                        .param("minSalary", "1500")
+                        .param("companyId", String.valueOf(companyId))
+                        .param("sort", "salary,desc")
+                        .param("pageIndex", "1")
+                        .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Cedie"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        performAsync(MockMvcRequestBuilders.get("/employees/search")
+                        .param("gender", "female")
+                        .param("minAge", "22")
+                        .param("maxAge", "30")
+                        .param("minSalary", "1500")
+                        .param("companyId", String.valueOf(companyId))
+                        .param("sort", "salary,desc")
+                        .param("pageIndex", "2")
+                        .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Kitz"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void should_return_bad_request_when_searchEmployees_given_unknown_sort_property() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/search").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_searchEmployees_given_offset_beyond_integer_range() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/search")
+                        .param("pageIndex", String.valueOf(Integer.MAX_VALUE))
+                        .param("pageSize", "200"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_ranked_matches_when_searchByName_given_prefix_and_typo_queries() throws Exception {
+        //given
+        for (String name : Arrays.asList("Kyle Santos", "Kyleen Cruz", "Robert Reyes")) {
+            performAsync(MockMvcRequestBuilders.post("/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\": \"" + name + "\", \"age\": 22, \"gender\": \"male\", \"salary\": 1000}"))
+                    .andExpect(status().isCreated());
+        }
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "kyle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Kyle Santos"))
+                .andExpect(jsonPath("$.content[1].name").value("Kyleen Cruz"));
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "robrt").param("pageIndex", "1").param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Robert Reyes"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void should_return_bad_request_when_searchByName_given_page_beyond_maximum_offset() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "kyle")
+                        .param("pageIndex", String.valueOf(Integer.MAX_VALUE)).param("pageSize", "200"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_searchByName_given_q_mixed_with_other_listing_params() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "kyle").param("gender", "male"))
+                .andExpect(status().isBadRequest());
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "kyle").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        performAsync(MockMvcRequestBuilders.get("/employees").param("q", "kyle").param("minAge", "20").param("maxAge", "30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_only_changed_and_deleted_employees_when_getChangesSince_given_previous_token() throws Exception {
+        //given
+        Employee updatedEmployee = employeeRepository.save(new Employee(1,"Lara",21,"female",1000));
+        Employee removedEmployee = employeeRepository.save(new Employee(2,"Cedie",27,"male",500));
+        employeeRepository.save(new Employee(3,"Kitz",22,"male",1000));
+        String since = drainChanges(null);
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", updatedEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(status().isOk());
+        performAsync(MockMvcRequestBuilders.delete("/employees/{id}", removedEmployee.getId()))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        String response = performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(updatedEmployee.getId()))
+                .andExpect(jsonPath("$.content[0].deleted").value(false))
+                .andExpect(jsonPath("$.content[0].age").value(30))
+                .andExpect(jsonPath("$.content[1].id").value(removedEmployee.getId()))
+                .andExpect(jsonPath("$.content[1].deleted").value(true))
+                .andReturn().getResponse().getContentAsString();
+        performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", JsonPath.<String>read(response, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void should_return_bad_request_when_getChangesSince_given_invalid_token() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest());
+        performAsync(MockMvcRequestBuilders.get("/employees/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_not_found_when_updateEmployee_given_unknown_employee_id() throws Exception {
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", 999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 23}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_conflict_when_updateEmployee_given_stale_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(1,"Red",22,"male",1000));
+        String eTag = performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 23}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + employee.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(status().isConflict());
+        performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(30))
+                .andExpect(jsonPath("$.name").value("Red"));
+    }
+
+    @Test
+    void should_not_lose_updates_when_updateEmployee_given_concurrent_increments_with_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(1,"Red",22,"male",1000));
+        int clients = 8;
+        int incrementsPerClient = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<?>> results = new ArrayList<>();
+
+        //when
+        for (int client = 0; client < clients; client++) {
+            results.add(executor.submit(() -> {
+                for (int increment = 0; increment < incrementsPerClient; increment++) {
+                    int status;
+                    do {
+                        Employee current = employeeRepository.findById(employee.getId()).get();
+                        status = performAsync(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"" + current.getVersion() + "\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"salary\": " + (current.getSalary() + 1) + "}"))
+                                .andReturn().getResponse().getStatus();
+                    } while (status == HttpStatus.CONFLICT.value());
+                    assertEquals(HttpStatus.OK.value(), status);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertEquals(1000 + clients * incrementsPerClient, updatedEmployee.getSalary());
+        assertEquals(employee.getVersion() + clients * incrementsPerClient, updatedEmployee.getVersion());
+    }
+
+    private String drainChanges(String since) throws Exception {
+        while (true) {
+            String body = performAsync(MockMvcRequestBuilders.get("/employees/changes").param("since", since == null ? "" : since))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            since = JsonPath.read(body, "$.nextCursor");
+            if (JsonPath.<List<?>>read(body, "$.content").isEmpty()) {
+                return since;
+            }
+        }
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
 }
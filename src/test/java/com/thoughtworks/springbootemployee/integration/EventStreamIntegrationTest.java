@@ -0,0 +1,153 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.controller.EventController;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EventStreamIntegrationTest {
+    private static final Pattern CREATED_EVENT_ID = Pattern.compile("id:(\\d+)\nevent:employee\\.created\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @AfterEach
+    void tearDown(){
+        employeeRepository.deleteAll();
+        companyRepository.deleteAll();
+    }
+
+    @Test
+    void should_push_created_and_deleted_events_when_employee_is_added_and_removed_given_open_event_stream() throws Exception {
+        //given
+        MvcResult stream = subscribe(null);
+
+        //when
+        Employee employee = addAndRemoveEmployee("Lara");
+
+        //then
+        String content = awaitEvent(stream, "employee.deleted");
+        assertTrue(content.contains("event:employee.created\ndata:{\"id\":" + employee.getId() + ","));
+        assertTrue(content.contains("\"name\":\"Lara\""));
+        assertTrue(content.contains("event:employee.deleted\ndata:{\"id\":" + employee.getId() + "}"));
+        assertTrue(content.indexOf("event:employee.created") < content.indexOf("event:employee.deleted"));
+    }
+
+    @Test
+    void should_replay_only_later_events_when_subscribe_given_last_event_id() throws Exception {
+        //given
+        MvcResult firstStream = subscribe(null);
+        Employee employee = addAndRemoveEmployee("Cedie");
+        Matcher createdEvent = CREATED_EVENT_ID.matcher(awaitEvent(firstStream, "employee.deleted"));
+        assertTrue(createdEvent.find());
+
+        //when
+        MvcResult resumedStream = subscribe(createdEvent.group(1));
+
+        //then
+        String content = awaitEvent(resumedStream, "employee.deleted");
+        assertTrue(content.contains("event:employee.deleted\ndata:{\"id\":" + employee.getId() + "}"));
+        assertFalse(content.contains("event:employee.created"));
+    }
+
+    @Test
+    void should_push_employee_updated_event_when_updateCompany_given_company_employees() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "MIS", null));
+        Employee employee = employeeRepository.save(new Employee(null, "Kitz", 22, "male", 1000, company.getId()));
+        MvcResult stream = subscribe(null);
+
+        //when
+        performAsync(MockMvcRequestBuilders.put("/companies/{id}", company.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyName\": \"OOCL\", \"employees\": [{\"id\": " + employee.getId() +
+                                ", \"name\": \"Kitz Reyes\", \"age\": 22, \"gender\": \"male\", \"salary\": 1000, \"companyId\": " +
+                                company.getId() + "}]}"))
+                .andExpect(status().isOk());
+
+        //then
+        String content = awaitEvent(stream, "employee.updated");
+        assertTrue(content.contains("event:employee.updated\ndata:{\"id\":" + employee.getId() + ","));
+        assertTrue(content.contains("\"name\":\"Kitz Reyes\""));
+        assertTrue(content.indexOf("event:company.updated") < content.indexOf("event:employee.updated"));
+    }
+
+    @Test
+    void should_return_bad_request_when_subscribe_given_invalid_last_event_id() throws Exception {
+        //when
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/events").header(EventController.LAST_EVENT_ID, "latest"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/events").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            requestBuilder.header(EventController.LAST_EVENT_ID, lastEventId);
+        }
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private Employee addAndRemoveEmployee(String name) throws Exception {
+        performAsync(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"" + name + "\", \"age\": 22, \"gender\": \"male\", \"salary\": 1000}"))
+                .andExpect(status().isCreated());
+        Employee employee = employeeRepository.findAll().stream()
+                .filter(savedEmployee -> name.equals(savedEmployee.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        performAsync(MockMvcRequestBuilders.delete("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+        return employee;
+    }
+
+    private static String awaitEvent(MvcResult stream, String eventType) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains("event:" + eventType) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains("event:" + eventType));
+        return content;
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
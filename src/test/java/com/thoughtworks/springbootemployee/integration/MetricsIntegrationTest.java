@@ -0,0 +1,174 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.advice.GlobalControllerAdvice;
+import com.thoughtworks.springbootemployee.config.QueryLogProperties;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.metrics.QueryCountFilter;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+public class MetricsIntegrationTest {
+    private static final String EMPLOYEE_URI = "/employees/{employeeId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private QueryLogProperties queryLogProperties;
+
+    @AfterEach
+    void tearDown(){
+        queryLogProperties.setSlowThreshold(new QueryLogProperties().getSlowThreshold());
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_record_request_timer_and_query_count_when_findById_given_endpoint_is_hit() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(1, "Lara", 21, "female", 1000));
+        long requestsBefore = requestCount(EMPLOYEE_URI, "200");
+        DistributionSummary queriesBefore = queryCountSummary(EMPLOYEE_URI);
+        long summariesBefore = queriesBefore == null ? 0 : queriesBefore.count();
+        double queryTotalBefore = queriesBefore == null ? 0 : queriesBefore.totalAmount();
+
+        //when
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+
+        //then
+        assertEquals(requestsBefore + 1, requestCount(EMPLOYEE_URI, "200"));
+        DistributionSummary queries = queryCountSummary(EMPLOYEE_URI);
+        assertEquals(summariesBefore + 1, queries.count());
+        assertTrue(queries.totalAmount() > queryTotalBefore);
+    }
+
+    @Test
+    void should_count_error_by_exception_type_when_findById_given_unknown_employee() throws Exception {
+        //given
+        double errorsBefore = errorCount("EmployeeNotFoundException");
+        long notFoundBefore = requestCount(EMPLOYEE_URI, "404");
+
+        //when
+        performAsync(MockMvcRequestBuilders.get("/employees/{id}", Integer.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        //then
+        assertEquals(errorsBefore + 1, errorCount("EmployeeNotFoundException"));
+        assertEquals(notFoundBefore + 1, requestCount(EMPLOYEE_URI, "404"));
+    }
+
+    @Test
+    void should_expose_histograms_in_prometheus_format_when_scrape_given_endpoints_were_hit() throws Exception {
+        //given
+        performAsync(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString("jpa_queries")));
+    }
+
+    @Test
+    void should_report_statements_and_lazy_collection_fetches_when_getQueryReport_given_company_employees_were_loaded() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "MIS", null));
+        employeeRepository.save(new Employee(1, "Red", 22, "male", 1000, company.getId()));
+        performAsync(MockMvcRequestBuilders.get("/companies/{companyId}/employees", company.getId()))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowest", not(empty())))
+                .andExpect(jsonPath("$.mostFrequent[0].executionCount", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.mostFrequent[0].sql").isString())
+                .andExpect(jsonPath("$.hibernateQueries").isArray())
+                .andExpect(jsonPath("$.collectionFetchCounts['com.thoughtworks.springbootemployee.entity.Company.employees']",
+                        greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void should_log_slow_query_without_bind_values_when_addEmployee_given_parameter_logging_is_off(CapturedOutput output) throws Exception {
+        //given
+        queryLogProperties.setSlowThreshold(Duration.ZERO);
+
+        //when
+        performAsync(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Zephyrine\", \"age\": 22, \"gender\": \"female\", \"salary\": 1000}"))
+                .andExpect(status().isCreated());
+
+        //then
+        assertTrue(output.getAll().contains("Slow query took"));
+        assertFalse(output.getAll().contains("Zephyrine"));
+    }
+
+    private long requestCount(String uri, String status) {
+        Timer timer = meterRegistry.find("http.server.requests").tag("uri", uri).tag("status", status).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private DistributionSummary queryCountSummary(String uri) {
+        return meterRegistry.find(QueryCountFilter.METRIC_NAME).tag("uri", uri).tag("method", "GET").summary();
+    }
+
+    private double errorCount(String exception) {
+        Counter counter = meterRegistry.find(GlobalControllerAdvice.ERROR_METRIC_NAME).tag("exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
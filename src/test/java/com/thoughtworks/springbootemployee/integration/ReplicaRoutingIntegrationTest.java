@@ -0,0 +1,138 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.config.ReplicaRoutingConfiguration;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.routing.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.replica.enabled=true",
+        "app.replica.read-your-writes-window=10s",
+        "app.replica.datasource.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    @Qualifier(ReplicaRoutingConfiguration.REPLICA_DATA_SOURCE)
+    private DataSource replicaDataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp(){
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO employee(id, name, age, gender, salary) VALUES (?, ?, ?, ?, ?)",
+                1000, "Replica", 30, "female", 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (!replicaDataSource.unwrap(HikariDataSource.class).isClosed()) {
+            replica.update("DELETE FROM employee");
+        }
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_read_from_replica_when_getAllEmployees_given_no_recent_write() throws Exception {
+        //given
+        employeeRepository.save(new Employee(1,"Lara",21,"female",1000));
+        double replicaConnectionsBefore = routedConnections("replica");
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Replica"));
+        assertEquals(replicaConnectionsBefore + 1, routedConnections("replica"));
+    }
+
+    @Test
+    void should_read_own_write_from_primary_when_getAllEmployees_given_read_your_writes_cookie() throws Exception {
+        //given
+        Cookie cookie = performAsync(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Lara\", \"age\": 21, \"gender\": \"female\", \"salary\": 1000}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Lara"));
+        performAsync(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Replica"));
+    }
+
+    @Test
+    @DirtiesContext
+    void should_fall_back_to_primary_when_getAllEmployees_given_replica_is_down() throws Exception {
+        //given
+        employeeRepository.save(new Employee(1,"Lara",21,"female",1000));
+        double fallbacksBefore = meterRegistry.get("datasource.replica.fallbacks").counter().count();
+        replicaDataSource.unwrap(HikariDataSource.class).close();
+
+        //when
+        //then
+        performAsync(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Lara"));
+        assertEquals(fallbacksBefore + 1, meterRegistry.get("datasource.replica.fallbacks").counter().count());
+    }
+
+    private double routedConnections(String route) {
+        return meterRegistry.get("datasource.routed.connections").tag("route", route).counter().count();
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
@@ -0,0 +1,80 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MapperTest {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private final CompanyMapper companyMapper = new CompanyMapper();
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_employee_toEntity() {
+        //given
+        EmployeeRequest employeeRequest = new EmployeeRequest("Lara", 21, "female", 1000);
+        employeeRequest.setCompanyId(2);
+        Employee expected = new Employee();
+        BeanUtils.copyProperties(employeeRequest, expected);
+
+        //when
+        Employee actual = employeeMapper.toEntity(employeeRequest);
+
+        //then
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getGender(), actual.getGender());
+        assertEquals(expected.getSalary(), actual.getSalary());
+        assertEquals(expected.getCompanyId(), actual.getCompanyId());
+    }
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_employee_toResponse() {
+        //given
+        Employee employee = new Employee(1, "Lara", 21, "female", 1000, 2);
+        EmployeeResponse expected = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, expected);
+
+        //when
+        EmployeeResponse actual = employeeMapper.toResponse(employee);
+
+        //then
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getGender(), actual.getGender());
+        assertEquals(expected.getSalary(), actual.getSalary());
+    }
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_company_toEntity_and_toResponse() {
+        //given
+        CompanyRequest companyRequest = new CompanyRequest("OOCL", Arrays.asList(new Employee(1, "Lara", 21, "female", 1000)));
+        Company expectedCompany = new Company();
+        BeanUtils.copyProperties(companyRequest, expectedCompany);
+        CompanyResponse expectedResponse = new CompanyResponse();
+        BeanUtils.copyProperties(expectedCompany, expectedResponse);
+
+        //when
+        Company actualCompany = companyMapper.toEntity(companyRequest);
+        CompanyResponse actualResponse = companyMapper.toResponse(actualCompany);
+
+        //then
+        assertEquals(expectedCompany.getCompanyName(), actualCompany.getCompanyName());
+        assertSame(expectedCompany.getEmployees(), actualCompany.getEmployees());
+        assertEquals(expectedResponse.getCompanyName(), actualResponse.getCompanyName());
+        assertSame(expectedResponse.getEmployees(), actualResponse.getEmployees());
+        assertEquals(1, actualResponse.getEmployeeNumber());
+    }
+}
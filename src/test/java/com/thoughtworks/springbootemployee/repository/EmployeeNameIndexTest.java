@@ -0,0 +1,104 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EmployeeNameIndexTest {
+
+    @Test
+    void should_rank_exact_match_before_prefix_match_when_search_given_prefix_query() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        employeeNameIndex.index(1, "Kyleen Cruz");
+        employeeNameIndex.index(2, "Kyle Santos");
+        employeeNameIndex.index(3, "Lara Reyes");
+
+        //when
+        List<Integer> employeeIds = employeeNameIndex.search("kyle", 0, 10);
+
+        //then
+        assertEquals(Arrays.asList(2, 1), employeeIds);
+    }
+
+    @Test
+    void should_match_misspelled_name_when_search_given_typo_in_query() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        employeeNameIndex.index(1, "Robert Dela Cruz");
+        employeeNameIndex.index(2, "Angelo Reyes");
+
+        //when
+        List<Integer> employeeIds = employeeNameIndex.search("robrt", 0, 10);
+
+        //then
+        assertEquals(Collections.singletonList(1), employeeIds);
+    }
+
+    @Test
+    void should_rank_employee_matching_more_terms_first_when_search_given_multi_term_query() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        employeeNameIndex.index(1, "Lara Santos");
+        employeeNameIndex.index(2, "Lara Cruz");
+
+        //when
+        List<Integer> employeeIds = employeeNameIndex.search("lara cruz", 0, 10);
+
+        //then
+        assertEquals(Arrays.asList(2, 1), employeeIds);
+    }
+
+    @Test
+    void should_reflect_renames_and_removals_when_search_given_index_was_updated() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        employeeNameIndex.index(1, "Cedie");
+        employeeNameIndex.index(2, "Cedric");
+
+        //when
+        employeeNameIndex.index(1, "Jesse");
+        employeeNameIndex.remove(2);
+
+        //then
+        assertEquals(Collections.emptyList(), employeeNameIndex.search("ced", 0, 10));
+        assertEquals(Collections.singletonList(1), employeeNameIndex.search("jesse", 0, 10));
+        assertEquals(1, employeeNameIndex.size());
+    }
+
+    @Test
+    void should_return_requested_page_when_search_given_offset_and_limit() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        for (int employeeId = 1; employeeId <= 5; employeeId++) {
+            employeeNameIndex.index(employeeId, "Kitz");
+        }
+
+        //when
+        List<Integer> employeeIds = employeeNameIndex.search("kitz", 2, 2);
+
+        //then
+        assertEquals(Arrays.asList(3, 4), employeeIds);
+    }
+
+    @Test
+    void should_return_requested_window_of_ranking_when_search_given_offset_and_limit() {
+        //given
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        employeeNameIndex.index(1, "Kyleen Cruz");
+        employeeNameIndex.index(2, "Kyle Santos");
+        employeeNameIndex.index(3, "Kylee Reyes");
+        employeeNameIndex.index(4, "Kyle Cruz");
+
+        //when
+        List<Integer> employeeIds = employeeNameIndex.search("kyle", 1, 2);
+
+        //then
+        assertEquals(Arrays.asList(4, 3), employeeIds);
+        assertEquals(Collections.emptyList(), employeeNameIndex.search("kyle", 4, 2));
+    }
+}
@@ -0,0 +1,164 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.mapper.EmployeeSearchMapper;
+import com.thoughtworks.springbootemployee.metrics.StatementStatisticsListener;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "app.events.poll-interval=1h")
+public class EmployeeRepositoryIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeSearchMapper employeeSearchMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private StatementStatisticsListener statementStatisticsListener;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        company = companyRepository.save(new Company(null, "index", null));
+        clearInvocations(statementStatisticsListener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        companyRepository.deleteById(company.getId());
+    }
+
+    @Test
+    void should_use_gender_age_index_when_findResponsesByGender() {
+        //when
+        employeeRepository.findResponsesByGender("female");
+        String plan = explainLastEmployeeQuery();
+
+        //then
+        assertThat(plan, containsString("IDX_EMPLOYEE_GENDER_AGE"));
+    }
+
+    @Test
+    void should_use_age_index_when_findResponsesByAgeBetween() {
+        //when
+        employeeRepository.findResponsesByAgeBetween(20, 30);
+        String plan = explainLastEmployeeQuery();
+
+        //then
+        assertThat(plan, containsString("IDX_EMPLOYEE_AGE"));
+    }
+
+    @Test
+    void should_use_gender_age_index_when_findResponses_given_gender_and_age_range() {
+        //given
+        EmployeeSearchRequest searchRequest = searchRequest();
+        searchRequest.setGender("female");
+        searchRequest.setMinAge(20);
+        searchRequest.setMaxAge(30);
+
+        //when
+        employeeRepository.findResponses(employeeSearchMapper.toSpecification(searchRequest), employeeSearchMapper.toPageable(searchRequest));
+        String plan = explainLastEmployeeQuery();
+
+        //then
+        assertThat(plan, containsString("IDX_EMPLOYEE_GENDER_AGE"));
+    }
+
+    @Test
+    void should_use_salary_index_when_findResponses_given_salary_range() {
+        //given
+        EmployeeSearchRequest searchRequest = searchRequest();
+        searchRequest.setMinSalary(500);
+        searchRequest.setMaxSalary(1000);
+
+        //when
+        employeeRepository.findResponses(employeeSearchMapper.toSpecification(searchRequest), employeeSearchMapper.toPageable(searchRequest));
+        String plan = explainLastEmployeeQuery();
+
+        //then
+        assertThat(plan, containsString("IDX_EMPLOYEE_SALARY"));
+    }
+
+    @Test
+    void should_use_company_id_index_when_loading_employees_of_findWithEmployeesById() {
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                companyRepository.findWithEmployeesById(company.getId()).ifPresent(found -> Hibernate.initialize(found.getEmployees())));
+        String plan = explainLastEmployeeQuery();
+
+        //then
+        assertThat(plan, containsString("IDX_EMPLOYEE_COMPANY_ID"));
+    }
+
+    private EmployeeSearchRequest searchRequest() {
+        EmployeeSearchRequest searchRequest = new EmployeeSearchRequest();
+        searchRequest.setPageIndex(1);
+        searchRequest.setPageSize(20);
+        return searchRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String explainLastEmployeeQuery() {
+        ArgumentCaptor<List<QueryInfo>> queryInfos = ArgumentCaptor.forClass(List.class);
+        verify(statementStatisticsListener, atLeastOnce()).afterQuery(any(ExecutionInfo.class), queryInfos.capture());
+        QueryInfo employeeQuery = null;
+        for (List<QueryInfo> executed : queryInfos.getAllValues()) {
+            for (QueryInfo queryInfo : executed) {
+                if (queryInfo.getQuery().toLowerCase().contains("from employee")) {
+                    employeeQuery = queryInfo;
+                }
+            }
+        }
+        assertNotNull(employeeQuery);
+        return jdbcTemplate.queryForObject("EXPLAIN " + employeeQuery.getQuery(), String.class, parametersOf(employeeQuery));
+    }
+
+    private static Object[] parametersOf(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return new Object[0];
+        }
+        List<ParameterSetOperation> parameters = queryInfo.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .collect(Collectors.toList());
+        return parameters.stream()
+                .map(operation -> "setNull".equals(operation.getMethod().getName()) ? null : operation.getArgs()[1])
+                .toArray();
+    }
+}
@@ -0,0 +1,103 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.Company;
+import com.thoughtworks.springbootemployee.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class RetiringCompanyRepositoryTest {
+
+    @Test
+    void should_find_new_company_by_employee_id_when_update_given_employee_moved_between_companies() {
+        //given
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository();
+
+        //when
+        retiringCompanyRepository.update(2, company -> company.setEmployees(Arrays.asList(
+                new Employee(2,"Cedie",27,"male",500),
+                new Employee(1,"Lara",21,"female",1000))));
+        retiringCompanyRepository.update(1, company -> company.setEmployees(Arrays.asList(
+                new Employee(3,"Kitz",22,"male",1000))));
+
+        //then
+        assertEquals(2, retiringCompanyRepository.findByEmployeeId(1).get().getId());
+        assertEquals(1, retiringCompanyRepository.findByEmployeeId(3).get().getId());
+        assertFalse(retiringCompanyRepository.findByEmployeeId(7).isPresent());
+        assertFalse(retiringCompanyRepository.findByEmployeeId(4).isPresent());
+    }
+
+    @Test
+    void should_drop_employees_from_index_when_deleteById_given_company_id() {
+        //given
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository();
+
+        //when
+        retiringCompanyRepository.deleteById(2);
+
+        //then
+        assertFalse(retiringCompanyRepository.findByEmployeeId(2).isPresent());
+        assertEquals(1, retiringCompanyRepository.findByEmployeeId(1).get().getId());
+    }
+
+    @Test
+    void should_not_reuse_id_when_save_given_company_was_deleted() {
+        //given
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository();
+        retiringCompanyRepository.deleteById(2);
+
+        //when
+        Company savedCompany = retiringCompanyRepository.save(new Company(null, "EDI", new ArrayList<>()));
+
+        //then
+        assertEquals(3, savedCompany.getId());
+    }
+
+    @Test
+    void should_not_change_stored_company_when_caller_mutates_saved_and_found_companies() {
+        //given
+        List<Employee> employees = new ArrayList<>(Arrays.asList(new Employee(9, "Joanna", 25, "female", 1000)));
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository(new ArrayList<>());
+        Company savedCompany = retiringCompanyRepository.save(new Company(null, "EDI", employees));
+
+        //when
+        employees.get(0).setName("Changed");
+        employees.add(new Employee(10, "Jesse", 25, "male", 500));
+        savedCompany.setCompanyName("Changed");
+        savedCompany.getEmployees().get(0).setSalary(0);
+        Company foundCompany = retiringCompanyRepository.findById(savedCompany.getId()).get();
+        foundCompany.getEmployees().get(0).setAge(99);
+        retiringCompanyRepository.findAll().get(0).getEmployees().get(0).setGender("male");
+
+        //then
+        Company storedCompany = retiringCompanyRepository.findById(savedCompany.getId()).get();
+        assertEquals("EDI", storedCompany.getCompanyName());
+        assertEquals(1, storedCompany.getEmployees().size());
+        Employee storedEmployee = storedCompany.getEmployees().get(0);
+        assertEquals("Joanna", storedEmployee.getName());
+        assertEquals(1000, storedEmployee.getSalary());
+        assertEquals(25, storedEmployee.getAge());
+        assertEquals("female", storedEmployee.getGender());
+        assertFalse(retiringCompanyRepository.findByEmployeeId(10).isPresent());
+    }
+
+    @Test
+    void should_return_companies_in_id_order_when_findPage_given_offset_and_limit() {
+        //given
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository();
+        retiringCompanyRepository.save(new Company(null, "EDI", new ArrayList<>()));
+
+        //when
+        List<Company> page = retiringCompanyRepository.findPage(1, 2);
+
+        //then
+        assertEquals(2, page.size());
+        assertEquals(2, page.get(0).getId());
+        assertEquals(3, page.get(1).getId());
+    }
+}
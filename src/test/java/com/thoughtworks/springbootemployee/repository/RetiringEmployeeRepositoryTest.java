@@ -0,0 +1,119 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetiringEmployeeRepositoryTest {
+
+    @Test
+    void should_generate_unique_ids_when_save_given_concurrent_writers() throws Exception {
+        //given
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository(new ArrayList<>());
+        Set<Integer> employeeIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int index = 0; index < 1000; index++) {
+            executorService.execute(() -> employeeIds.add(
+                    retiringEmployeeRepository.save(new Employee(null, "Lara", 21, "female", 1000)).getId()));
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        //then
+        assertEquals(1000, employeeIds.size());
+        assertEquals(1000, retiringEmployeeRepository.count());
+        assertEquals(1000, retiringEmployeeRepository.findByGender("female").size());
+    }
+
+    @Test
+    void should_not_reuse_id_when_save_given_employee_was_deleted() {
+        //given
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository();
+        retiringEmployeeRepository.deleteById(1);
+
+        //when
+        Employee savedEmployee = retiringEmployeeRepository.save(new Employee(null, "David", 25, "male", 1000));
+
+        //then
+        assertEquals(7, savedEmployee.getId());
+    }
+
+    @Test
+    void should_move_employee_between_indexes_when_update_given_new_gender_and_age() {
+        //given
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository();
+        Employee originalEmployee = retiringEmployeeRepository.findById(2).get();
+
+        //when
+        retiringEmployeeRepository.update(2, employee -> {
+            employee.setGender("female");
+            employee.setAge(40);
+        });
+
+        //then
+        assertEquals("male", originalEmployee.getGender());
+        List<Integer> femaleIds = retiringEmployeeRepository.findByGender("female").stream()
+                .map(Employee::getId).collect(Collectors.toList());
+        assertTrue(femaleIds.contains(2));
+        assertEquals(1, retiringEmployeeRepository.findByAgeBetween(40, 40).size());
+        assertEquals(5, retiringEmployeeRepository.findByAgeBetween(21, 25).size());
+    }
+
+    @Test
+    void should_not_change_stored_employee_when_caller_mutates_found_employees() {
+        //given
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository();
+
+        //when
+        retiringEmployeeRepository.findById(1).get().setGender("male");
+        retiringEmployeeRepository.findAll().get(0).setAge(40);
+        retiringEmployeeRepository.findByGender("female").get(0).setName("Changed");
+        retiringEmployeeRepository.save(new Employee(7, "David", 25, "male", 1000)).setGender("female");
+
+        //then
+        Employee storedEmployee = retiringEmployeeRepository.findById(1).get();
+        assertEquals("female", storedEmployee.getGender());
+        assertEquals(21, storedEmployee.getAge());
+        assertEquals("Lara", storedEmployee.getName());
+        assertEquals(1, retiringEmployeeRepository.findByGender("female").size());
+        assertEquals(2, retiringEmployeeRepository.findByAgeBetween(21, 21).size());
+    }
+
+    @Test
+    void should_always_find_employee_when_findByGender_given_concurrent_age_updates() throws Exception {
+        //given
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.execute(() -> {
+            for (int index = 0; index < 10000; index++) {
+                int age = 21 + index % 2;
+                retiringEmployeeRepository.update(2, employee -> employee.setAge(age));
+            }
+        });
+        executorService.shutdown();
+
+        //when
+        boolean alwaysFound = true;
+        while (!executorService.isTerminated()) {
+            alwaysFound &= retiringEmployeeRepository.findByGender("male").stream()
+                    .anyMatch(employee -> employee.getId() == 2);
+        }
+
+        //then
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(alwaysFound);
+    }
+}
@@ -6,25 +6,19 @@ import com.thoughtworks.springbootemployee.repository.RetiringCompanyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.BDDMockito.given;
 
 @ExtendWith(MockitoExtension.class)
 public class RetiringCompanyServiceTest {
-    @InjectMocks
     private RetiringCompanyService retiringCompanyService;
 
-    @Mock
-    private RetiringCompanyRepository retiringCompanyRepository;
-
     private List<Company> testCompanies = new ArrayList<>();
 
     public RetiringCompanyServiceTest() {
@@ -42,26 +36,24 @@ public class RetiringCompanyServiceTest {
                 new Employee(2,"Cedie",27,"male",500),
                 new Employee(7,"Jesse",25,"male",500),
                 new Employee(8,"David",25,"male",500))));
+        retiringCompanyService = new RetiringCompanyService(new RetiringCompanyRepository(testCompanies));
     }
 
     @Test
     void should_return_all_companies_when_getAllCompanies_given_all_companies() {
         //given
-        given(retiringCompanyRepository.getCompanies()).willReturn(testCompanies);
-
         //when
         List<Company> actualCompanies = retiringCompanyService.getAllCompanies();
 
         //then
         assertEquals(testCompanies.size(), actualCompanies.size());
-        assertIterableEquals(testCompanies, actualCompanies);
+        assertIterableEquals(testCompanies.stream().map(Company::getId).collect(Collectors.toList()),
+                actualCompanies.stream().map(Company::getId).collect(Collectors.toList()));
     }
 
     @Test
     void should_return_specific_company_when_findById_given_company_id() {
         //given
-        given(retiringCompanyRepository.getCompanies()).willReturn(testCompanies);
-
         //when
         Company actualCompany = retiringCompanyService.findById(2);
 
@@ -72,19 +64,17 @@ public class RetiringCompanyServiceTest {
     @Test
     void should_return_all_employees_when_getAllEmployeesByCompanyId_given_company_id() {
         //given
-        given(retiringCompanyRepository.getCompanies()).willReturn(testCompanies);
-
         //when
         List<Employee> actualEmployeeList = retiringCompanyService.getAllEmployeesByCompanyId(2);
 
         //then
-        assertEquals(testCompanies.get(1).getEmployees(), actualEmployeeList);
+        assertIterableEquals(testCompanies.get(1).getEmployees().stream().map(Employee::getId).collect(Collectors.toList()),
+                actualEmployeeList.stream().map(Employee::getId).collect(Collectors.toList()));
     }
 
     @Test
     void should_return_one_company_per_list_when_getCompaniesByPagination_given_pageIndex_is_1_and_pageSize_is_1() {
         //given
-        given(retiringCompanyRepository.getCompanies()).willReturn(testCompanies);
         int mockCount = 1;
 
         //when
@@ -97,24 +87,25 @@ public class RetiringCompanyServiceTest {
     @Test
     void should_return_new_company_when_addCompany_given_company_info() {
         //given
-        List<Company> companies = new ArrayList<>();
-        given(retiringCompanyRepository.getCompanies()).willReturn(companies);
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository(new ArrayList<>());
+        retiringCompanyService = new RetiringCompanyService(retiringCompanyRepository);
         Company newCompany = new Company(){{
             setCompanyName("EDI");
             setEmployees(Arrays.asList(new Employee(9, "Joanna", 25, "female", 1000)));
         }};
 
         //when
-        retiringCompanyService.addCompany(newCompany);
+        Company addedCompany = retiringCompanyService.addCompany(newCompany);
 
         //then
-        assertEquals("EDI", newCompany.getCompanyName());
+        assertEquals("EDI", addedCompany.getCompanyName());
+        assertEquals(1, retiringCompanyRepository.count());
+        assertEquals(addedCompany.getId(), retiringCompanyService.findByEmployeeId(9).getId());
     }
 
     @Test
     void should_update_existing_company_when_updateCompany_given_company_info() {
         //given
-        given(retiringCompanyRepository.getCompanies()).willReturn(testCompanies);
         Company updateCompany = new Company(){{
             setCompanyName("OOCL-DPMCP");
             setEmployees(Arrays.asList(new Employee()));
@@ -141,14 +132,16 @@ public class RetiringCompanyServiceTest {
                 new Employee(2,"Cedie",27,"male",500),
                 new Employee(7,"Jesse",25,"male",500),
                 new Employee(8,"David",25,"male",500))));
-        given(retiringCompanyRepository.getCompanies()).willReturn(companies);
+        RetiringCompanyRepository retiringCompanyRepository = new RetiringCompanyRepository(companies);
+        retiringCompanyService = new RetiringCompanyService(retiringCompanyRepository);
 
         //when
         Company deletedCompany = retiringCompanyService.removeCompany(2);
 
         //then
         assertNotNull(deletedCompany);
-        assertEquals(1, companies.size());
+        assertEquals(1, retiringCompanyRepository.count());
+        assertNull(retiringCompanyService.findByEmployeeId(7));
     }
 
 }
@@ -1,5 +1,6 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.entity.Employee;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
 import com.thoughtworks.springbootemployee.repository.RetiringEmployeeRepository;
@@ -16,18 +17,15 @@ import static org.mockito.BDDMockito.willReturn;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @ExtendWith(MockitoExtension.class)
 public class RetiringEmployeeServiceTest {
-    @InjectMocks
     private RetiringEmployeeService retiringEmployeeService;
 
     @InjectMocks
     private EmployeeService employeeService;
 
-    @Mock
-    private RetiringEmployeeRepository retiringEmployeeRepository;
-
     @Mock
     private EmployeeRepository employeeRepository;
 
@@ -42,26 +40,31 @@ public class RetiringEmployeeServiceTest {
                         (new Employee(4,"Robert",23,"male",500)),
                         (new Employee(5,"Kyle",24,"male",1000))
                 );
+        retiringEmployeeService = new RetiringEmployeeService(new RetiringEmployeeRepository(testEmployees));
     }
 
     @Test
     void should_return_all_employees_when_getAllEmployees_given_all_employees(){
         //given
-        given(employeeRepository.findAll()).willReturn(testEmployees);
+        List<EmployeeResponse> employeeResponses = testEmployees.stream()
+                .map(employee -> new EmployeeResponse(employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary()))
+                .collect(Collectors.toList());
+        given(employeeRepository.findAllResponses()).willReturn(employeeResponses);
 
         //when
-        List<Employee> actualEmployees = employeeService.getAllEmployees();
+        List<EmployeeResponse> actualEmployees = employeeService.getAllEmployees();
 
         //then
         assertEquals(testEmployees.size(), actualEmployees.size());
-        assertIterableEquals(testEmployees, actualEmployees);
+        assertIterableEquals(testEmployees.stream().map(Employee::getName).collect(Collectors.toList()),
+                actualEmployees.stream().map(EmployeeResponse::getName).collect(Collectors.toList()));
+        assertIterableEquals(testEmployees.stream().map(Employee::getSalary).collect(Collectors.toList()),
+                actualEmployees.stream().map(EmployeeResponse::getSalary).collect(Collectors.toList()));
     }
 
     @Test
     void should_return_specific_employee_when_findById_given_employee_id() {
         //given
-        given(retiringEmployeeRepository.getEmployees()).willReturn(testEmployees);
-
         //when
         Employee mockEmployee = new Employee(2, "Cedie", 23, "Male", 5000);
         Employee actualEmployee = retiringEmployeeService.findById(2);
@@ -73,8 +76,6 @@ public class RetiringEmployeeServiceTest {
     @Test
     void should_return_specific_employee_when_findByGender_given_employee_gender() {
         //given
-        given(retiringEmployeeRepository.getEmployees()).willReturn(testEmployees);
-
         //when
         List<Employee> actualEmployees = retiringEmployeeService.findByGender("male");
 
@@ -86,7 +87,6 @@ public class RetiringEmployeeServiceTest {
     @Test
     void should_return_three_employee_per_list_when_getListByPagination_given_pageIndex_is_1_and_pageSize_is_3() {
         //given
-        given(retiringEmployeeRepository.getEmployees()).willReturn(testEmployees);
         int mockCount = 3;
 
         //when
@@ -99,8 +99,8 @@ public class RetiringEmployeeServiceTest {
     @Test
     void should_return_new_employee_when_addEmployee_given_employee_info() {
         //given
-        List<Employee> employees = new ArrayList<>();
-        given(retiringEmployeeRepository.getEmployees()).willReturn(employees);
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository(new ArrayList<>());
+        retiringEmployeeService = new RetiringEmployeeService(retiringEmployeeRepository);
         Employee newEmployee = new Employee(){{
             setName("David");
             setAge(25);
@@ -113,6 +113,7 @@ public class RetiringEmployeeServiceTest {
         retiringEmployeeService.addEmployee(newEmployee);
 
         //then
+        List<Employee> employees = retiringEmployeeRepository.findAll();
         assertEquals(1, employees.size());
         assertEquals(25, employees.get(0).getAge());
     }
@@ -120,7 +121,6 @@ public class RetiringEmployeeServiceTest {
     @Test
     void should_update_existing_employee_when_updateEmployee_given_employee_info() {
         //given
-        given(retiringEmployeeRepository.getEmployees()).willReturn(testEmployees);
         Employee updateEmployee = new Employee(){{
             setAge(22);
         }};
@@ -139,13 +139,14 @@ public class RetiringEmployeeServiceTest {
         employees.add(new Employee(1,"Lara",21,"female",1000));
         employees.add(new Employee(2,"Cedie",21,"male",500));
         employees.add(new Employee(3,"Kitz",22,"male",1000));
-        given(retiringEmployeeRepository.getEmployees()).willReturn(employees);
+        RetiringEmployeeRepository retiringEmployeeRepository = new RetiringEmployeeRepository(employees);
+        retiringEmployeeService = new RetiringEmployeeService(retiringEmployeeRepository);
 
         //when
         Employee deletedEmployee = retiringEmployeeService.removeEmployee(1);
 
         //then
         assertNotNull(deletedEmployee);
-        assertEquals(2, employees.size());
+        assertEquals(2, retiringEmployeeRepository.count());
     }
 }